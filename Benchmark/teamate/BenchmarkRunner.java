@@ -0,0 +1,31 @@
+package teamate;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite with the GC profiler so allocation rates
+ * (gc.alloc.rate.norm, bytes per operation) are reported next to the timings.
+ *
+ * Usage: BenchmarkRunner [benchmark regex] [cohort sizes...]
+ * e.g. BenchmarkRunner LoadBenchmark 1000 100000
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.include(args.length > 0 ? args[0] : "teamate\\..*Benchmark");
+        if (args.length > 1) {
+            String[] sizes = new String[args.length - 1];
+            System.arraycopy(args, 1, sizes, 0, sizes.length);
+            builder.param("cohortSize", sizes);
+        }
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Xmx8g")
+                .build();
+        new Runner(options).run();
+    }
+}
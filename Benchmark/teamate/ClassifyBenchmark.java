@@ -0,0 +1,47 @@
+package teamate;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures PersonalityClassifier.classify one score at a time and classifyAll
+ * over the whole cohort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassifyBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int cohortSize;
+
+    @Param({"even", "leader-heavy", "thinker-heavy"})
+    public String personalityMix;
+
+    private final PersonalityClassifier classifier = new PersonalityClassifier();
+    private int[] scores;
+    private byte[] types;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scores = new ParticipantGenerator(42, personalityMix, 6).scores(cohortSize);
+        types = new byte[cohortSize];
+    }
+
+    @Benchmark
+    public void classifyEach(Blackhole bh) {
+        for (int score : scores) {
+            bh.consume(classifier.classify(score));
+        }
+    }
+
+    @Benchmark
+    public byte[] classifyAll() {
+        classifier.classifyAll(scores, types);
+        return types;
+    }
+}
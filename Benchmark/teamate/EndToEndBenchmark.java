@@ -0,0 +1,55 @@
+package teamate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load, classify, form and write in one run, as the organizer flow does.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int cohortSize;
+
+    @Param({"5"})
+    public int teamSize;
+
+    @Param({"STANDARD"})
+    public FileManager.ParseMode parseMode;
+
+    private final FileManager fileManager = new FileManager();
+    private Path in;
+    private Path out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getInstance().setLevel(Logger.Level.WARN);
+        in = Files.createTempFile("teamate-bench", ".csv");
+        out = Files.createTempFile("teamate-bench-teams", ".csv");
+        new ParticipantGenerator(42, "even", 6).writeCsv(in, cohortSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(in);
+        Files.deleteIfExists(out);
+    }
+
+    @Benchmark
+    public int loadClassifyFormWrite() throws IOException {
+        List<Participant> participants = fileManager.readParticipantsFromCSV(in.toString(), parseMode);
+        List<Team> teams = new TeamBuilder(participants, teamSize).formTeams();
+        fileManager.writeTeamsToCSV(out.toString(), teams);
+        return teams.size();
+    }
+}
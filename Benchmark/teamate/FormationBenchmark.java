@@ -0,0 +1,49 @@
+package teamate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures TeamBuilder.formAllTeams, sequential and parallel.
+ * The default cohort sizes stop at 100k because sequential formation is
+ * super-linear; pass -p cohortSize=1000000 to compare the modes on larger cohorts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormationBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int cohortSize;
+
+    @Param({"4", "5", "8"})
+    public int teamSize;
+
+    @Param({"even", "leader-heavy", "thinker-heavy"})
+    public String personalityMix;
+
+    @Param({"6"})
+    public int gameCount;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private java.util.List<Participant> participants;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getInstance().setLevel(Logger.Level.WARN);
+        participants = new ParticipantGenerator(42, personalityMix, gameCount).participants(cohortSize);
+    }
+
+    @Benchmark
+    public TeamFormationResult formAllTeams() {
+        TeamBuilder builder = parallel ?
+                TeamBuilder.parallel(participants, teamSize) :
+                new TeamBuilder(participants, teamSize);
+        return builder.formAllTeams();
+    }
+}
@@ -0,0 +1,90 @@
+package teamate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Organizer CSV load: the fused pipeline, which classifies each row once while
+ * parsing, against the earlier three passes (constructor, one pool task per
+ * participant, then a separate processor thread over the whole list). The old
+ * passes are reproduced here, as they no longer exist in the application.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int cohortSize;
+
+    @Param({"STANDARD", "PARALLEL"})
+    public FileManager.ParseMode parseMode;
+
+    private final FileManager fileManager = new FileManager();
+    private final PersonalityClassifier classifier = new PersonalityClassifier();
+    private Path csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getInstance().setLevel(Logger.Level.WARN);
+        csv = Files.createTempFile("teamate-bench", ".csv");
+        new ParticipantGenerator(42, "even", 6).writeCsv(csv, cohortSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public int fused() throws IOException {
+        return fileManager.readParticipantsFromCSV(csv.toString(), parseMode).size();
+    }
+
+    @Benchmark
+    public int threePass() throws IOException, InterruptedException {
+        List<Participant> loaded = new ArrayList<>(fileManager.readParticipantsFromCSV(csv.toString(), parseMode));
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        for (Participant p : loaded) {
+            pool.submit(() -> {
+                int score = Math.max(0, Math.min(100, p.getPersonalityScore()));
+                p.setPersonalityType(classifier.classify(score));
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+
+        Thread processor = new Thread(() -> processAgain(loaded));
+        processor.start();
+        processor.join();
+        return loaded.size();
+    }
+
+    // The removed SurveyProcessorThread pass: reclassify anything untyped and clamp scores
+    private void processAgain(List<Participant> loaded) {
+        Logger logger = Logger.getInstance();
+        logger.info("Processing personality classification for " + loaded.size() + " participants...");
+        for (Participant participant : loaded) {
+            if (participant.getPersonalityType() == null || participant.getPersonalityType().isEmpty()) {
+                participant.setPersonalityType(classifier.classify(participant.getPersonalityScore()));
+            }
+            int score = participant.getPersonalityScore();
+            if (score < 0) {
+                participant.setPersonalityScore(0);
+            } else if (score > 100) {
+                participant.setPersonalityScore(100);
+            }
+            logger.debug("Processed participant: {}", participant.getId());
+        }
+    }
+}
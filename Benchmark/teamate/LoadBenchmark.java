@@ -0,0 +1,48 @@
+package teamate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures FileManager.readParticipantsFromCSV for each parser mode.
+ * STORE converts the CSV during warmup and then loads from the binary store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int cohortSize;
+
+    @Param({"STANDARD", "MAPPED", "PARALLEL", "STORE"})
+    public FileManager.ParseMode parseMode;
+
+    private final FileManager fileManager = new FileManager();
+    private Path csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getInstance().setLevel(Logger.Level.WARN);
+        csv = Files.createTempFile("teamate-bench", ".csv");
+        new ParticipantGenerator(42, "even", 6).writeCsv(csv, cohortSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(Path.of(csv + FileManager.STORE_SUFFIX));
+    }
+
+    @Benchmark
+    public List<Participant> readParticipants() throws IOException {
+        return fileManager.readParticipantsFromCSV(csv.toString(), parseMode);
+    }
+}
@@ -0,0 +1,78 @@
+package teamate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic participant cohorts for the benchmarks.
+ * The personality mix controls the share of Leader/Balanced/Thinker scores,
+ * and gameCount controls how many distinct preferred games are used.
+ */
+public class ParticipantGenerator {
+    private static final String[] GAMES = {
+            "Valorant", "Dota", "FIFA", "Basketball", "Badminton", "Chess", "CS:GO", "Tennis"
+    };
+    private static final String[] ROLES = {"Defender", "Strategist", "Attacker", "Supporter", "Coordinator"};
+
+    private final Random random;
+    private final String mix;
+    private final int gameCount;
+
+    public ParticipantGenerator(long seed, String mix, int gameCount) {
+        this.random = new Random(seed);
+        this.mix = mix;
+        this.gameCount = Math.max(1, Math.min(GAMES.length, gameCount));
+    }
+
+    public List<Participant> participants(int count) {
+        List<Participant> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new Participant(id(i), "Participant_" + i, "user" + i + "@university.edu",
+                    GAMES[random.nextInt(gameCount)], 1 + random.nextInt(10), ROLES[random.nextInt(ROLES.length)],
+                    null, null, null, null, null, score(), null));
+        }
+        return list;
+    }
+
+    public int[] scores(int count) {
+        int[] scores = new int[count];
+        for (int i = 0; i < count; i++) scores[i] = score();
+        return scores;
+    }
+
+    // Writes a participant CSV in the same layout as participants_sample.csv
+    public void writeCsv(Path path, int count) throws IOException {
+        try (BufferedWriter bw = Files.newBufferedWriter(path)) {
+            bw.write("ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore,PersonalityType\n");
+            for (int i = 0; i < count; i++) {
+                bw.write(id(i) + ",Participant_" + i + ",user" + i + "@university.edu,"
+                        + GAMES[random.nextInt(gameCount)] + "," + (1 + random.nextInt(10)) + ","
+                        + ROLES[random.nextInt(ROLES.length)] + "," + score() + ",\n");
+            }
+        }
+    }
+
+    private String id(int i) {
+        return "P" + (1000 + i);
+    }
+
+    // Personality score drawn according to the configured mix
+    private int score() {
+        int roll = random.nextInt(100);
+        int leaderShare, thinkerShare;
+        switch (mix) {
+            case "leader-heavy": leaderShare = 40; thinkerShare = 20; break;
+            case "thinker-heavy": leaderShare = 10; thinkerShare = 50; break;
+            default: leaderShare = 20; thinkerShare = 30; break; // "even"
+        }
+        if (roll < leaderShare) return 90 + random.nextInt(11);
+        if (roll < leaderShare + thinkerShare) return 50 + random.nextInt(20);
+        if (roll < 95) return 70 + random.nextInt(20);
+        return random.nextInt(50); // a few Undefined participants
+    }
+}
@@ -0,0 +1,153 @@
+package teamate;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test for the survey intake server. Opens every session first, so all of
+ * them are in progress at once, then each client sends scripted answers and
+ * waits for the server's SAVED line. Submission latency is measured from the
+ * last answer to SAVED; session time from connecting to SAVED.
+ *
+ * Usage: SurveyLoadTest [sessions] [port]
+ * Without a port an in-process server is started on a temporary CSV. Each
+ * in-process session holds two sockets, so for 10000 sessions run the server
+ * separately (Main --survey-server) when the open file limit is below 20000.
+ */
+public class SurveyLoadTest {
+    private static final String HOST = "localhost";
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Logger.getInstance().setLevel(Logger.Level.WARN);
+
+        if (args.length > 1) {
+            report(run(sessions, Integer.parseInt(args[1])));
+            return;
+        }
+        Path csv = Files.createTempFile("teamate-load", ".csv");
+        Files.write(csv, Collections.singletonList("ID,Name,Email,Interest,Skill,Role,Score"));
+        try (SurveyIntakeServer server = new SurveyIntakeServer(csv.toString(), 0)) {
+            server.start();
+            report(run(sessions, server.getPort()));
+            System.out.println(server);
+            System.out.println("CSV rows: " + (Files.readAllLines(csv).size() - 1));
+        } finally {
+            SubmissionLog.forCsv(csv.toString()).close();
+            Files.deleteIfExists(SubmissionLog.logPath(csv));
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    static Result run(int sessions, int port) throws InterruptedException {
+        String runTag = Long.toString(System.currentTimeMillis(), 36);
+        CountDownLatch connected = new CountDownLatch(sessions);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] submitNanos = new long[sessions];
+        long[] sessionNanos = new long[sessions];
+        AtomicInteger saved = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                int n = i;
+                clients.submit(() -> {
+                    long begin = System.nanoTime();
+                    Socket socket;
+                    try {
+                        socket = new Socket(HOST, port);
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                        return;
+                    } finally {
+                        connected.countDown();
+                    }
+                    try (Socket s = socket) {
+                        go.await();
+                        BufferedReader in = new BufferedReader(
+                                new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                        Writer out = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8);
+                        out.write(answers(runTag, n));
+                        out.flush();
+                        long sent = System.nanoTime();
+
+                        String line;
+                        while ((line = in.readLine()) != null) {
+                            if (line.startsWith("SAVED ")) {
+                                long end = System.nanoTime();
+                                submitNanos[n] = end - sent;
+                                sessionNanos[n] = end - begin;
+                                saved.incrementAndGet();
+                                return;
+                            }
+                            if (line.startsWith("FAILED ")) break;
+                        }
+                        errors.incrementAndGet();
+                    } catch (IOException | InterruptedException e) {
+                        errors.incrementAndGet();
+                    }
+                });
+            }
+            connected.await();
+            System.out.printf("%d sessions open after %d ms%n", sessions,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            go.countDown();
+        }
+        return new Result(sessions, saved.get(), errors.get(), System.nanoTime() - start, submitNanos, sessionNanos);
+    }
+
+    // Name, email, Q1-Q5, interest, role and skill, one answer per line
+    private static String answers(String runTag, int n) {
+        StringBuilder script = new StringBuilder();
+        script.append("Load Tester").append('\n');
+        script.append("load").append(runTag).append('.').append(n).append("@loadtest.com").append('\n');
+        for (int q = 0; q < 5; q++) script.append(1 + (n + q) % 5).append('\n');
+        script.append(1 + n % 5).append('\n');
+        script.append(1 + (n / 5) % 5).append('\n');
+        script.append(1 + n % 10).append('\n');
+        return script.toString();
+    }
+
+    private static void report(Result r) {
+        System.out.printf("Sessions: %d, saved: %d, errors: %d, wall time: %d ms, throughput: %.0f submissions/s%n",
+                r.sessions, r.saved, r.errors, TimeUnit.NANOSECONDS.toMillis(r.wallNanos),
+                r.saved / (r.wallNanos / 1e9));
+        System.out.printf("Submission latency ms - p50: %.1f, p99: %.1f, max: %.1f%n",
+                percentile(r.submitNanos, 50), percentile(r.submitNanos, 99), percentile(r.submitNanos, 100));
+        System.out.printf("Session time ms       - p50: %.1f, p99: %.1f, max: %.1f%n",
+                percentile(r.sessionNanos, 50), percentile(r.sessionNanos, 99), percentile(r.sessionNanos, 100));
+    }
+
+    // Nearest-rank percentile over the completed sessions, in milliseconds
+    private static double percentile(long[] nanos, double p) {
+        long[] done = Arrays.stream(nanos).filter(t -> t > 0).sorted().toArray();
+        if (done.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100 * done.length);
+        return done[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    static final class Result {
+        final int sessions;
+        final int saved;
+        final int errors;
+        final long wallNanos;
+        final long[] submitNanos;
+        final long[] sessionNanos;
+
+        Result(int sessions, int saved, int errors, long wallNanos, long[] submitNanos, long[] sessionNanos) {
+            this.sessions = sessions;
+            this.saved = saved;
+            this.errors = errors;
+            this.wallNanos = wallNanos;
+            this.submitNanos = submitNanos;
+            this.sessionNanos = sessionNanos;
+        }
+    }
+}
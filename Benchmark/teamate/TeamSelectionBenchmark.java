@@ -0,0 +1,89 @@
+package teamate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the fill-phase team selection: placing participants into the
+ * best-fitting team with room, using TeamSkillIndex or a scan over all teams.
+ * Teams start part-filled with random skills, as after the leader and thinker phases.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamSelectionBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int teamCount;
+
+    @Param({"5"})
+    public int teamSize;
+
+    // Participants placed per invocation
+    @Param({"10000"})
+    public int placements;
+
+    private List<Participant> prefill;
+    private List<Participant> incoming;
+    private List<Team> teams;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Logger.getInstance().setLevel(Logger.Level.WARN);
+        ParticipantGenerator generator = new ParticipantGenerator(42, "even", 6);
+        prefill = generator.participants(teamCount * 2);
+        incoming = generator.participants(placements);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetTeams() {
+        Random random = new Random(7);
+        teams = new ArrayList<>(teamCount);
+        for (int i = 0; i < teamCount; i++) {
+            Team t = new Team(i + 1);
+            int members = random.nextInt(3);
+            for (int m = 0; m < members; m++) t.addMember(prefill.get(2 * i + m));
+            teams.add(t);
+        }
+    }
+
+    @Benchmark
+    public int indexed() {
+        TeamSkillIndex index = new TeamSkillIndex(teams, teamSize);
+        int placed = 0;
+        for (Participant p : incoming) {
+            int best = index.findBestFit(p.getSkillLevel(), t -> t.countGame(p.getGame()) < 2);
+            if (best >= 0) {
+                teams.get(best).addMember(p);
+                index.refresh(best);
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int placed = 0;
+        for (Participant p : incoming) {
+            Team best = teams.stream()
+                    .filter(t -> t.size() < teamSize)
+                    .filter(t -> t.countGame(p.getGame()) < 2)
+                    .min(Comparator.comparingInt(t -> t.size() == 0 ? 0
+                            : (int) Math.abs(t.getAverageSkill() - p.getSkillLevel())))
+                    .orElse(null);
+            if (best != null) {
+                best.addMember(p);
+                placed++;
+            }
+        }
+        return placed;
+    }
+}
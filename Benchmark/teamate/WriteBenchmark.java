@@ -0,0 +1,54 @@
+package teamate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures FileManager.writeTeamsToCSV for a cohort already split into teams.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int cohortSize;
+
+    @Param({"5"})
+    public int teamSize;
+
+    private final FileManager fileManager = new FileManager();
+    private List<Team> teams;
+    private Path out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getInstance().setLevel(Logger.Level.WARN);
+        List<Participant> participants = new ParticipantGenerator(42, "even", 6).participants(cohortSize);
+        teams = new ArrayList<>();
+        for (int i = 0; i < participants.size(); i += teamSize) {
+            Team team = new Team(teams.size() + 1);
+            participants.subList(i, Math.min(i + teamSize, participants.size())).forEach(team::addMember);
+            teams.add(team);
+        }
+        out = Files.createTempFile("teamate-bench-teams", ".csv");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(out);
+    }
+
+    @Benchmark
+    public void writeTeams() throws IOException {
+        fileManager.writeTeamsToCSV(out.toString(), teams);
+    }
+}
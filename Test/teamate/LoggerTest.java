@@ -3,6 +3,9 @@ package teamate;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.*;
+
 class LoggerTest {
 
     @Test
@@ -23,6 +26,13 @@ class LoggerTest {
         assertDoesNotThrow(() -> logger.error("Error message"));
     }
 
+    @Test
+    void testUnknownLevelPropertyFallsBackToDebug() {
+        assertEquals(Logger.Level.WARN, Logger.parseLevel(" warn "));
+        assertEquals(Logger.Level.DEBUG, Logger.parseLevel(null));
+        assertEquals(Logger.Level.DEBUG, Logger.parseLevel("verbose"));
+    }
+
     @Test
     void testLogWithException() {
         Logger logger = Logger.getInstance(false);
@@ -30,4 +40,73 @@ class LoggerTest {
 
         assertDoesNotThrow(() -> logger.error("Error with exception", testException));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAsyncModeWritesEveryMessageWhenBlocking() throws IOException {
+        Logger logger = Logger.getInstance();
+        String marker = "async-block-" + System.nanoTime();
+
+        logger.startAsync(16, Logger.OverflowPolicy.BLOCK);
+        try {
+            if (!logger.isAsync()) return; // file logging disabled for this JVM
+            for (int i = 0; i < 200; i++) {
+                logger.info(marker + " " + i);
+            }
+            logger.flush();
+            assertEquals(200, countLines(marker));
+        } finally {
+            logger.stopAsync();
+        }
+        assertFalse(logger.isAsync());
+
+        logger.info(marker + " sync");
+        assertEquals(201, countLines(marker));
+    }
+
+    @Test
+    void testAsyncDropPolicyNeverBlocks() {
+        Logger logger = Logger.getInstance();
+        logger.startAsync(4, Logger.OverflowPolicy.DROP);
+        try {
+            assertDoesNotThrow(() -> {
+                for (int i = 0; i < 1000; i++) logger.debug("async-drop " + i);
+            });
+        } finally {
+            logger.stopAsync();
+        }
+    }
+
+    @Test
+    void testDisabledLevelSkipsMessageBuilding() {
+        Logger logger = Logger.getInstance();
+        Logger.Level previous = logger.getLevel();
+        boolean[] built = {false};
+
+        logger.setLevel(Logger.Level.WARN);
+        try {
+            logger.debug(() -> {
+                built[0] = true;
+                return "never built";
+            });
+            assertFalse(built[0]);
+            assertFalse(logger.isDebugEnabled());
+            assertFalse(logger.isEnabled(Logger.Level.INFO));
+        } finally {
+            logger.setLevel(previous);
+        }
+    }
+
+    @Test
+    void testParameterizedFormat() {
+        assertEquals("Processed participant: P101", Logger.format("Processed participant: {}", "P101"));
+        assertEquals("Teams: 3, Participants: 12", Logger.format("Teams: {}, Participants: {}", 3, 12));
+        assertEquals("No placeholders", Logger.format("No placeholders", "extra"));
+        assertEquals("Missing {}", Logger.format("Missing {}"));
+    }
+
+    private long countLines(String marker) throws IOException {
+        try (var lines = Files.lines(Paths.get("teamate_system.log"))) {
+            return lines.filter(l -> l.contains(marker)).count();
+        }
+    }
+}
@@ -55,4 +55,20 @@ class ParticipantTest {
         assertTrue(csv.contains("John Doe"));
         assertTrue(csv.contains("Valorant"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGameAndRoleAreInterned() {
+        Participant other = new Participant("P102", "Jane Roe", "jane@email.com",
+                "Valorant", 4, "Attacker", null, null, null, null, null, 60, null);
+        assertSame(participant.getGame(), other.getGame());
+        assertSame(participant.getPreferredRole(), other.getPreferredRole());
+        assertEquals(PersonalityType.THINKER, other.getPersonality());
+    }
+
+    @Test
+    void testSetPersonalityTypeRejectsUnknownLabel() {
+        participant.setPersonalityType("Leader");
+        assertEquals(PersonalityType.LEADER, participant.getPersonality());
+        assertThrows(IllegalArgumentException.class, () -> participant.setPersonalityType("Captain"));
+    }
+}
@@ -0,0 +1,83 @@
+package teamate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAnytimeFormation {
+    private ExecutorService executor;
+    private List<Participant> sample;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        executor = Executors.newSingleThreadExecutor();
+        sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testBudgetExpiryReturnsBestResultAndFinalSnapshot() throws Exception {
+        List<FormationProgress> snapshots = new CopyOnWriteArrayList<>();
+        int greedy = new TeamBuilder(sample, 5).formAllTeams().getWellBalancedTeams().size();
+
+        AnytimeFormation formation = new TeamBuilder(sample, 5)
+                .formTeamsAnytime(Duration.ofMillis(600), 3, executor, snapshots::add);
+        TeamFormationResult result = formation.await();
+
+        assertTrue(formation.isDone());
+        assertFalse(formation.isCancelled());
+        assertFalse(snapshots.isEmpty());
+        FormationProgress last = snapshots.get(snapshots.size() - 1);
+        assertTrue(last.isLast());
+        assertSame(result, last.getResult());
+        assertEquals(result.getWellBalancedTeams().size(), last.getWellBalanced());
+        assertTrue(last.getWellBalanced() >= greedy);
+        assertTrue(formation.getElapsedMillis() < 5_000);
+    }
+
+    @Test
+    void testCancelKeepsBestResultSoFar() throws Exception {
+        AnytimeFormation formation = new TeamBuilder(sample, 5)
+                .formTeamsAnytime(Duration.ofMinutes(10), 3, executor, null);
+        while (formation.getLatest() == null) Thread.sleep(5);
+
+        long start = System.nanoTime();
+        formation.cancel();
+        TeamFormationResult result = formation.await();
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2_000, "Cancel took too long");
+        assertTrue(formation.isCancelled());
+        assertNotNull(result);
+        assertFalse(result.getWellBalancedTeams().isEmpty());
+    }
+
+    @Test
+    void testCancelBeforeStartCompletesWithNull() throws Exception {
+        // Occupy the only worker so the formation stays queued
+        executor.submit(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        AnytimeFormation formation = new TeamBuilder(sample, 5)
+                .formTeamsAnytime(Duration.ofSeconds(1), 3, executor, null);
+        formation.cancel();
+
+        assertTrue(formation.isDone());
+        assertNull(formation.await());
+    }
+}
@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class TestFileManager {
     private FileManager fileManager;
@@ -36,4 +38,103 @@ class TestFileManager {
         assertNotNull(teams);
         assertTrue(teams.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamMatchesListOnSampleCSV() throws IOException {
+        List<Participant> listed = fileManager.readParticipantsFromCSV("participants_sample.csv");
+        List<Participant> streamed;
+        try (Stream<Participant> rows = fileManager.streamParticipantsFromCSV("participants_sample.csv")) {
+            streamed = rows.collect(Collectors.toList());
+        }
+
+        assertEquals(100, listed.size());
+        assertEquals(listed, streamed);
+        assertEquals("P001", streamed.get(0).getId());
+        assertEquals("Leader", streamed.get(0).getPersonalityType());
+    }
+
+    @Test
+    void testStreamSkipsInvalidRowsAndResolvesAliases() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        try {
+            Files.write(csv, Arrays.asList(
+                    "ID,Name,Email,Interest,Skill,Role,Score",
+                    "P1,Alice,alice@email.com,Dota,7,Strategist,92",
+                    "",
+                    "P2,Bob,bob@email.com,FIFA,3,Defender,",
+                    "P3,Cara,cara@email.com,Chess,5,Attacker,55"));
+
+            List<Participant> rows;
+            try (Stream<Participant> stream = fileManager.streamParticipantsFromCSV(csv.toString())) {
+                rows = stream.collect(Collectors.toList());
+            }
+
+            assertEquals(2, rows.size());
+            assertEquals("Dota", rows.get(0).getInterest());
+            assertEquals(7, rows.get(0).getSkillLevel());
+            assertEquals("Thinker", rows.get(1).getPersonalityType());
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testMissingFileThrows() {
+        assertThrows(FileNotFoundException.class,
+                () -> fileManager.streamParticipantsFromCSV("does_not_exist.csv"));
+    }
+
+    @Test
+    void testMappedParserMatchesStandardParser() throws IOException {
+        assertParsersAgree("participants_sample.csv");
+
+        Path csv = Files.createTempFile("participants", ".csv");
+        try {
+            Files.write(csv, ("ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,Q1,Q2,Q3,Q4,Q5,PersonalityScore\r\n"
+                    + "P1, Alice ,alice@email.com,Dota,+7,Strategist,5,5,5,4,5,\r\n"
+                    + "P2,Bob,bob@email.com,FIFA,x,Defender,,,,,,61\r\n"
+                    + "   \r\n"
+                    + "P3,Cara,cara@email.com\r\n"
+                    + "P4,Dan,dan@email.com,Chess,99999999999,Attacker,1,2,3,4,5,-4\n"
+                    + "P5,Éva,eva@email.com,Valorant,4,Supporter,,,,,,90").getBytes("UTF-8"));
+            assertParsersAgree(csv.toString());
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testParallelParserKeepsFileOrder() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        try {
+            List<String> lines = new ArrayList<>();
+            lines.add("ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore,PersonalityType");
+            for (int i = 0; i < 40000; i++) {
+                // Every 997th row has no score and is skipped
+                String score = i % 997 == 0 ? "" : String.valueOf(50 + i % 51);
+                lines.add("P" + i + ",Participant_" + i + ",user" + i + "@university.edu,FIFA,"
+                        + (1 + i % 10) + ",Attacker," + score + ",Balanced");
+            }
+            Files.write(csv, lines);
+
+            assertParsersAgree(csv.toString(), FileManager.ParseMode.PARALLEL);
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private void assertParsersAgree(String path) throws IOException {
+        assertParsersAgree(path, FileManager.ParseMode.MAPPED);
+    }
+
+    private void assertParsersAgree(String path, FileManager.ParseMode mode) throws IOException {
+        List<Participant> standard = fileManager.readParticipantsFromCSV(path, FileManager.ParseMode.STANDARD);
+        List<Participant> other = fileManager.readParticipantsFromCSV(path, mode);
+
+        assertEquals(standard.size(), other.size());
+        for (int i = 0; i < standard.size(); i++) {
+            assertEquals(standard.get(i).toString(), other.get(i).toString());
+            assertEquals(standard.get(i).getEmail(), other.get(i).getEmail());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package teamate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestFormationStrategies {
+    private List<Participant> sample;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+    }
+
+    @Test
+    void testEveryStrategyPlacesEachParticipantOnceAndKeepsTheRules() {
+        TeamFormationStrategies.register(new OptimizingFormationStrategy(Duration.ofMillis(200), 42));
+        for (TeamFormationStrategy strategy : TeamFormationStrategies.all()) {
+            FormationReport report = strategy.formTeams(sample, 5, TeamConstraints.DEFAULT);
+            TeamFormationResult result = report.getResult();
+
+            assertEquals(strategy.getName(), report.getStrategy());
+            for (Team t : result.getWellBalancedTeams()) {
+                assertTrue(TeamConstraints.DEFAULT.isWellBalanced(t, 5), strategy.getName() + " team " + t.getTeamID());
+            }
+            Set<String> seen = new HashSet<>();
+            List<Team> all = new ArrayList<>(result.getWellBalancedTeams());
+            all.addAll(result.getSecondaryTeams());
+            for (Team t : all) {
+                assertEquals(5, t.size());
+                for (Participant p : t.getMembers()) assertTrue(seen.add(p.getId()), strategy.getName() + " " + p.getId());
+            }
+            for (Participant p : result.getLeftover()) assertTrue(seen.add(p.getId()));
+            assertEquals(sample.size(), seen.size(), strategy.getName());
+        }
+        TeamFormationStrategies.register(new OptimizingFormationStrategy(Duration.ofSeconds(10), 42));
+    }
+
+    @Test
+    void testGreedyAppliesCustomConstraints() {
+        TeamConstraints strict = new TeamConstraints(1, 4, 1, 1);
+        FormationReport report = TeamFormationStrategies.find("greedy").formTeams(sample, 5, strict);
+
+        List<Team> wellBalanced = report.getResult().getWellBalancedTeams();
+        assertFalse(wellBalanced.isEmpty());
+        for (Team t : wellBalanced) {
+            assertTrue(t.countPersonality(PersonalityType.THINKER) <= 1);
+            assertTrue(t.distinctRoles() >= 4);
+            for (Participant p : t.getMembers()) assertEquals(1, t.countGame(p.getGame()));
+        }
+    }
+
+    @Test
+    void testReportMetrics() {
+        FormationReport report = TeamFormationStrategies.find(" Round-Robin ").formTeams(sample, 5, TeamConstraints.DEFAULT);
+
+        assertEquals(sample.size() / 5, report.getWellBalanced() + report.getSecondary());
+        assertEquals(sample.size() % 5, report.getLeftover());
+        assertEquals(report.getWellBalanced() * 5.0 / sample.size(), report.getBalancedShare(), 1e-9);
+        assertTrue(report.getSkillSpread() >= 0);
+        assertNull(TeamFormationStrategies.find("no-such-strategy"));
+    }
+
+    @Test
+    void testInvalidConstraintsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TeamConstraints(0, 3, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TeamConstraints(2, -1, 2, 1));
+    }
+}
@@ -0,0 +1,68 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestParticipantRegistry {
+
+    @Test
+    void testLoadsEmailsAndContinuesIdsFromCsv() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        try {
+            Files.write(csv, Arrays.asList("ID,Name,Email,Interest,Skill,Role,Score",
+                    "P150,Alice,alice@email.com,Dota,7,Strategist,92",
+                    "P120,Bob,bob@email.com,FIFA,3,Defender,75"));
+            ParticipantRegistry registry = ParticipantRegistry.forCsv(csv.toString());
+
+            assertSame(registry, ParticipantRegistry.forCsv(csv.toString()));
+            assertTrue(registry.isEmailRegistered(" ALICE@email.com "));
+            assertFalse(registry.isEmailRegistered("carol@email.com"));
+            assertEquals("P151", registry.nextParticipantId());
+
+            // A saved submission is seen without reading the file again
+            new SurveyManager().saveParticipantToCSV(new Participant("P151", "Carol", "carol@email.com", "Chess", 5,
+                    "Attacker", null, null, null, null, null, 80, null), csv.toString());
+            assertTrue(registry.isEmailRegistered("carol@email.com"));
+            assertEquals(4, Files.readAllLines(csv).size());
+            SubmissionLog.forCsv(csv.toString()).close();
+        } finally {
+            Files.deleteIfExists(SubmissionLog.logPath(csv));
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testChangeEmailRejectsOtherOwnersAndReleasesOldEmail() {
+        ParticipantRegistry registry = new ParticipantRegistry();
+        registry.register(new Participant("P1", "Alice", "alice@email.com", "Dota", 7, "Strategist",
+                null, null, null, null, null, 92, null));
+        registry.register(new Participant("P2", "Bob", "bob@email.com", "FIFA", 3, "Defender",
+                null, null, null, null, null, 75, null));
+
+        assertFalse(registry.changeEmail("P2", "bob@email.com", "Alice@Email.com"));
+        assertTrue(registry.isEmailRegistered("bob@email.com"));
+        assertTrue(registry.changeEmail("P1", "alice@email.com", "ALICE@email.com")); // own email, other case
+        assertTrue(registry.changeEmail("P2", "bob@email.com", "robert@email.com"));
+        assertFalse(registry.isEmailRegistered("bob@email.com"));
+        assertTrue(registry.changeEmail("P1", "alice@email.com", "bob@email.com"));
+    }
+
+    @Test
+    void testConcurrentIdsAreUnique() throws Exception {
+        ParticipantRegistry registry = new ParticipantRegistry();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<String>> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) ids.add(pool.submit(registry::nextParticipantId));
+        Set<String> seen = new HashSet<>();
+        for (Future<String> id : ids) assertTrue(seen.add(id.get()));
+        pool.shutdown();
+        assertTrue(seen.contains("P101") && seen.contains("P1100"));
+    }
+}
@@ -0,0 +1,136 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestParticipantStore {
+    private final FileManager fileManager = new FileManager();
+
+    @Test
+    void testStoreMatchesCsvParser() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        Path store = Paths.get(csv + FileManager.STORE_SUFFIX);
+        try {
+            Files.copy(Paths.get("participants_sample.csv"), csv, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            List<Participant> standard = fileManager.readParticipantsFromCSV(csv.toString(), FileManager.ParseMode.STANDARD);
+            List<Participant> stored = fileManager.readParticipantsFromCSV(csv.toString(), FileManager.ParseMode.STORE);
+
+            assertTrue(Files.exists(store));
+            assertEquals(standard.size(), stored.size());
+            for (int i = 0; i < standard.size(); i++) {
+                assertEquals(standard.get(i).toString(), stored.get(i).toString());
+                assertEquals(standard.get(i).getEmail(), stored.get(i).getEmail());
+                assertEquals(standard.get(i).isEligibleForTeams(), stored.get(i).isEligibleForTeams());
+            }
+            stored.get(0).setSkillLevel(9); // loaded copies can be edited
+        } finally {
+            Files.deleteIfExists(store);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testViewsDecodeEveryFieldAndAreReadOnly() throws IOException {
+        Path path = Files.createTempFile("participants", FileManager.STORE_SUFFIX);
+        try {
+            Participant answered = new Participant("P1", "Éva", "eva@email.com", "Valorant", 4, "Supporter",
+                    5, 5, 5, 4, 5, 96, null);
+            Participant scored = new Participant("P2", "Bob", "bob@email.com", "FIFA", 7, "Defender",
+                    null, null, null, null, null, 61, null);
+            try (ParticipantStore.Writer writer = new ParticipantStore.Writer(path)) {
+                writer.add(answered);
+                writer.add(scored);
+            }
+
+            ParticipantStore store = ParticipantStore.open(path);
+            assertEquals(2, store.size());
+            Participant first = store.get(0);
+            assertEquals("Éva", first.getName());
+            assertSame(Game.of("Valorant"), first.getGame());
+            assertEquals(Arrays.asList(5, 5, 5, 4, 5),
+                    Arrays.asList(first.getQ1(), first.getQ2(), first.getQ3(), first.getQ4(), first.getQ5()));
+            assertEquals(answered.getPersonalityScore(), first.getPersonalityScore());
+            assertEquals(PersonalityType.THINKER, store.get(1).getPersonality());
+            assertNull(store.get(1).getQ3());
+            assertEquals(7, store.skillLevel(1));
+            assertEquals(scored, store.get(1));
+            assertThrows(UnsupportedOperationException.class, () -> first.setSkillLevel(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(2));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testChangedCsvIsConvertedAgain() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        Path store = Paths.get(csv + FileManager.STORE_SUFFIX);
+        try {
+            Files.write(csv, Arrays.asList("ID,Name,Email,Interest,Skill,Role,Score",
+                    "P1,Alice,alice@email.com,Dota,7,Strategist,92"));
+            assertEquals(1, fileManager.openParticipantStore(csv.toString()).size());
+
+            Files.write(csv, Arrays.asList("ID,Name,Email,Interest,Skill,Role,Score",
+                    "P1,Alice,alice@email.com,Dota,7,Strategist,92",
+                    "P2,Bob,bob@email.com,FIFA,3,Defender,75"));
+            Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(store).toMillis() + 2000));
+
+            ParticipantStore reopened = fileManager.openParticipantStore(csv.toString());
+            assertEquals(2, reopened.size());
+            assertEquals("Bob", reopened.get(1).getName());
+        } finally {
+            Files.deleteIfExists(store);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testFailedConversionLeavesNoStore() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        Path store = Paths.get(csv + FileManager.STORE_SUFFIX);
+        try {
+            // Enough good rows to be converting when the reader hits the bad byte
+            List<String> lines = new ArrayList<>();
+            lines.add("ID,Name,Email,Interest,Skill,Role,Score");
+            for (int i = 0; i < 2000; i++) lines.add("P" + i + ",Alice,alice" + i + "@email.com,Dota,7,Strategist,92");
+            Files.write(csv, lines);
+            Files.write(csv, new byte[]{(byte) 0xFF, '\n'}, StandardOpenOption.APPEND);
+
+            assertThrows(IOException.class, () -> fileManager.openParticipantStore(csv.toString()));
+            assertFalse(Files.exists(store));
+            try (Stream<Path> files = Files.list(store.toAbsolutePath().getParent())) {
+                assertFalse(files.anyMatch(f -> f.getFileName().toString().startsWith(store.getFileName().toString())));
+            }
+            assertThrows(IOException.class, () -> fileManager.openParticipantStore(csv.toString()));
+
+            Files.write(csv, lines);
+            assertEquals(2000, fileManager.openParticipantStore(csv.toString()).size());
+        } finally {
+            Files.deleteIfExists(store);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testOtherFilesAreRejected() throws IOException {
+        Path path = Files.createTempFile("participants", FileManager.STORE_SUFFIX);
+        try {
+            Files.write(path, new byte[100]);
+            assertThrows(IOException.class, () -> ParticipantStore.open(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
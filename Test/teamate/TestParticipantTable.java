@@ -0,0 +1,122 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestParticipantTable {
+
+    @Test
+    void testRowsReadBackTheStoredValues() {
+        Participant original = new Participant("P101", "John Doe", "john@email.com",
+                "Valorant", 8, "Attacker", 4, 5, 3, 4, 5, 85, null);
+        ParticipantTable table = new ParticipantTable();
+        int row = table.add(original);
+        Participant view = table.get(row);
+
+        assertEquals(0, row);
+        assertEquals(original, view);
+        assertEquals(original.toCSVForParticipant(), view.toCSVForParticipant());
+        assertEquals(original.getPersonalityType(), view.getPersonalityType());
+        assertEquals(Integer.valueOf(3), view.getQ3());
+        assertSame(view, table.get(row));
+    }
+
+    @Test
+    void testMissingAnswersStayMissing() {
+        ParticipantTable table = new ParticipantTable();
+        table.add(new Participant("P1", "A", "a@x.com", "Chess", 5, "Supporter",
+                null, null, null, null, null, 70, null));
+
+        assertNull(table.get(0).getQ1());
+        assertFalse(table.get(0).hasFiveQuestions());
+        assertEquals(70, table.personalityScore(0));
+    }
+
+    @Test
+    void testSettersWriteThroughToColumns() {
+        ParticipantTable table = new ParticipantTable(1);
+        table.add(new Participant("P1", "A", "a@x.com", "Chess", 5, "Supporter",
+                null, null, null, null, null, 70, null));
+        table.add(new Participant("P2", "B", "b@x.com", "Chess", 6, "Defender",
+                null, null, null, null, null, 95, null));
+
+        Participant view = table.get(0);
+        view.setInterest("Dota");
+        view.setSkillLevel(9);
+
+        assertEquals(Game.of("Dota").ordinal(), table.gameOrdinal(0));
+        assertSame(Game.of("Dota"), view.getGame());
+        assertEquals(9, table.skillLevel(0));
+        assertEquals("Chess", table.get(1).getInterest());
+    }
+
+    @Test
+    void testTeamsFromTableMatchTeamsFromList() throws IOException {
+        FileManager fm = new FileManager();
+        List<Participant> list = fm.readParticipantsFromCSV("participants_sample.csv");
+        ParticipantTable table = fm.readParticipantTable("participants_sample.csv", FileManager.ParseMode.STANDARD);
+
+        assertEquals(list.size(), table.size());
+        assertEquals(describe(new TeamBuilder(list, 5).formAllTeams()),
+                describe(new TeamBuilder(table, 5, null).formAllTeams()));
+    }
+
+    @Test
+    void testParallelTeamsFromTableMatchTeamsFromList() {
+        String[] games = {"Valorant", "Dota", "FIFA", "Basketball", "Badminton", "Chess"};
+        String[] roles = {"Defender", "Strategist", "Attacker", "Supporter", "Coordinator"};
+        int[] scores = {95, 80, 60, 75, 85, 55, 92, 72, 30};
+        Random random = new Random(7);
+        List<Participant> list = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            list.add(new Participant("P" + (1000 + i), "Participant_" + i, "user" + i + "@university.edu",
+                    games[random.nextInt(games.length)], random.nextInt(11), roles[random.nextInt(roles.length)],
+                    null, null, null, null, null, scores[random.nextInt(scores.length)], null));
+        }
+        ParticipantTable table = ParticipantTable.of(list);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        TeamFormationResult fromList = new TeamBuilder(list, 5, pool).formAllTeams();
+        TeamFormationResult fromTable = new TeamBuilder(table, 5, pool).formAllTeams();
+
+        // Leftovers after shuffled secondary teams differ run to run; compare their count
+        assertEquals(describeTeams(fromList), describeTeams(fromTable));
+        assertEquals(fromList.getLeftover().size(), fromTable.getLeftover().size());
+        Participant member = fromTable.getWellBalancedTeams().get(0).getMembers().get(0);
+        assertSame(table.get(Integer.parseInt(member.getId().substring(1)) - 1000), member);
+        pool.shutdown();
+    }
+
+    @Test
+    void testMappedTableMatchesStandardTable() throws IOException {
+        FileManager fm = new FileManager();
+        ParticipantTable standard = fm.readParticipantTable("participants_sample.csv", FileManager.ParseMode.STANDARD);
+        ParticipantTable mapped = fm.readParticipantTable("participants_sample.csv", FileManager.ParseMode.MAPPED);
+
+        assertEquals(standard.size(), mapped.size());
+        for (int i = 0; i < standard.size(); i++) {
+            assertEquals(standard.get(i).toCSVForParticipant(), mapped.get(i).toCSVForParticipant());
+        }
+    }
+
+    private String describe(TeamFormationResult result) {
+        return describeTeams(result) + result.getLeftover();
+    }
+
+    private String describeTeams(TeamFormationResult result) {
+        StringBuilder sb = new StringBuilder();
+        for (Team t : result.getWellBalancedTeams()) {
+            sb.append(t.getTeamID()).append(':');
+            for (Participant p : t.getMembers()) sb.append(p.getId()).append(' ');
+            sb.append('|');
+        }
+        return sb.toString();
+    }
+}
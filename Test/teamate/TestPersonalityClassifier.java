@@ -2,6 +2,10 @@ package teamate;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TestPersonalityClassifier {
@@ -39,4 +43,75 @@ class TestPersonalityClassifier {
         assertEquals("Undefined", classifier.classify(25));
         assertEquals("Undefined", classifier.classify(49));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testClassifiersAgreeOnType() {
+        Participant participant = person("P1", 50);
+        for (int score = -5; score <= 105; score++) {
+            PersonalityType type = classifier.classifyType(score);
+            assertEquals(type, PersonalityType.fromScore(score));
+            assertEquals(type.getLabel(), participant.classifyPersonality(score));
+            assertEquals(type.getLabel(), classifier.classify(score));
+            assertSame(type, PersonalityType.fromLabel(type.getLabel()));
+        }
+        assertEquals(PersonalityType.INVALID, classifier.classifyType(101));
+        assertEquals(PersonalityType.INVALID, classifier.classifyType(-1));
+    }
+
+    @Test
+    void testParticipantsUseGivenClassifier() {
+        PersonalityClassifier strict = new PersonalityClassifier(60, 80, 95);
+        Participant standard = person("P1", 92);
+        Participant tagged = new Participant("P2", "Name P2", "p2@university.edu", "Chess", 5, "Defender",
+                null, null, null, null, null, 92, null, strict);
+        assertEquals(PersonalityType.LEADER, standard.getPersonality());
+        assertEquals(PersonalityType.BALANCED, tagged.getPersonality());
+        assertEquals(PersonalityType.BALANCED, new FileManager(strict).createParticipant("P4", "Name", "p4@university.edu",
+                "Chess", 5, "Defender", null, null, null, null, null, 92, 2).getPersonality());
+        // Scores are clamped to 0-100 when stored, so a stored score is never Invalid
+        assertEquals(100, person("P3", 140).getPersonalityScore());
+        assertEquals(PersonalityType.LEADER, person("P3", 140).getPersonality());
+    }
+
+    @Test
+    void testBulkMatchesSingleScores() {
+        int[] scores = new int[260];
+        for (int i = 0; i < scores.length; i++) scores[i] = i - 130;
+        scores[0] = Integer.MIN_VALUE;
+        scores[1] = Integer.MAX_VALUE;
+        byte[] out = new byte[scores.length];
+
+        classifier.classifyAll(scores, out);
+
+        for (int i = 0; i < scores.length; i++) {
+            assertEquals(classifier.classifyType(scores[i]), PersonalityClassifier.typeOf(out[i]), "score " + scores[i]);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> classifier.classifyAll(scores, new byte[10]));
+    }
+
+    @Test
+    void testCustomThresholdsRetagParticipants() {
+        PersonalityClassifier strict = new PersonalityClassifier(60, 80, 95);
+        assertEquals(PersonalityType.BALANCED, strict.classifyType(90));
+        assertEquals(PersonalityType.UNDEFINED, strict.classifyType(55));
+        assertEquals(PersonalityType.INVALID, strict.classifyType(-1));
+
+        List<Participant> people = Arrays.asList(person("P1", 92), person("P2", 96), person("P3", 55));
+        ParticipantTable table = ParticipantTable.of(people);
+        assertEquals(2, strict.reclassifyAll(people));
+        assertEquals(PersonalityType.BALANCED, people.get(0).getPersonality());
+        assertEquals(PersonalityType.LEADER, people.get(1).getPersonality());
+
+        table.reclassify(strict);
+        for (int row = 0; row < table.size(); row++) {
+            assertEquals(people.get(row).getPersonality(), table.get(row).getPersonality());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PersonalityClassifier(70, 50, 90));
+        assertThrows(IllegalArgumentException.class, () -> new PersonalityClassifier(-1, 70, 90));
+    }
+
+    private Participant person(String id, int score) {
+        return new Participant(id, "Name " + id, id.toLowerCase() + "@university.edu", "Chess", 5, "Defender",
+                null, null, null, null, null, score, null);
+    }
+}
@@ -0,0 +1,112 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSubmissionLog {
+    private static final String HEADER = "ID,Name,Email,Interest,Skill,Role,Score";
+
+    @Test
+    void testConcurrentSubmissionsWriteWholeLines() throws Exception {
+        Path csv = Files.createTempFile("participants", ".csv");
+        Path log = SubmissionLog.logPath(csv);
+        try {
+            Files.write(csv, Collections.singletonList(HEADER));
+            SubmissionLog submissions = SubmissionLog.forCsv(csv.toString());
+            assertSame(submissions, SubmissionLog.forCsv(csv.toString()));
+
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                Participant p = person("P" + (1000 + i));
+                futures.add(pool.submit(() -> {
+                    submissions.append(p);
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+            pool.shutdown();
+            submissions.close();
+
+            List<String> lines = Files.readAllLines(csv);
+            assertEquals(401, lines.size());
+            assertEquals(400, new HashSet<>(lines.subList(1, lines.size())).size());
+            for (String line : lines.subList(1, lines.size())) {
+                assertEquals(person(line.substring(0, line.indexOf(','))).toCSVForParticipant(), line);
+            }
+            assertEquals(0, Files.size(log));
+            assertThrows(IOException.class, () -> submissions.append(person("P1")));
+        } finally {
+            Files.deleteIfExists(log);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testReplayRepairsTornCsvAndSkipsWrittenLines() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        Path log = SubmissionLog.logPath(csv);
+        try {
+            String first = person("P1").toCSVForParticipant();
+            String second = person("P2").toCSVForParticipant();
+            String third = person("P3").toCSVForParticipant();
+            // The crash came while P2's line was being written and P3's record was being logged
+            Files.write(csv, (HEADER + "\n" + first + "\n" + second.substring(0, 10)).getBytes(StandardCharsets.UTF_8));
+            ByteBuffer torn = SubmissionLog.encodeRecord(third);
+            writeLog(log, SubmissionLog.encodeRecord(first), SubmissionLog.encodeRecord(second),
+                    ByteBuffer.wrap(Arrays.copyOf(torn.array(), torn.limit() - 3)));
+
+            SubmissionLog.recover(csv.toString());
+
+            assertEquals(Arrays.asList(HEADER, first, second), Files.readAllLines(csv));
+            assertEquals(0, Files.size(log));
+            SubmissionLog.forCsv(csv.toString()).close();
+        } finally {
+            Files.deleteIfExists(log);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testReplayStopsAtCorruptRecord() throws IOException {
+        Path csv = Files.createTempFile("participants", ".csv");
+        Path log = SubmissionLog.logPath(csv);
+        try {
+            Files.write(csv, Collections.singletonList(HEADER));
+            ByteBuffer corrupt = SubmissionLog.encodeRecord(person("P2").toCSVForParticipant());
+            corrupt.put(12, (byte) (corrupt.get(12) ^ 1));
+            writeLog(log, SubmissionLog.encodeRecord(person("P1").toCSVForParticipant()), corrupt,
+                    SubmissionLog.encodeRecord(person("P3").toCSVForParticipant()));
+
+            SubmissionLog.recover(csv.toString());
+
+            assertEquals(Arrays.asList(HEADER, person("P1").toCSVForParticipant()), Files.readAllLines(csv));
+            SubmissionLog.forCsv(csv.toString()).close();
+        } finally {
+            Files.deleteIfExists(log);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private void writeLog(Path log, ByteBuffer... records) throws IOException {
+        int size = 0;
+        for (ByteBuffer r : records) size += r.remaining();
+        ByteBuffer all = ByteBuffer.allocate(size);
+        for (ByteBuffer r : records) all.put(r);
+        Files.write(log, all.array());
+    }
+
+    private Participant person(String id) {
+        return new Participant(id, "Name " + id, id.toLowerCase() + "@university.edu", "Dota", 6,
+                "Strategist", 4, 4, 5, 3, 4, 80, null);
+    }
+}
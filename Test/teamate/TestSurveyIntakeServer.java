@@ -0,0 +1,80 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSurveyIntakeServer {
+    private static final String HEADER = "ID,Name,Email,Interest,Skill,Role,Score";
+
+    @Test
+    void testConcurrentSessionsAreSavedWithUniqueIds() throws Exception {
+        Path csv = Files.createTempFile("participants", ".csv");
+        try {
+            Files.write(csv, Collections.singletonList(HEADER));
+            try (SurveyIntakeServer server = new SurveyIntakeServer(csv.toString(), 0);
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                server.start();
+                List<Future<String>> replies = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    String email = "user" + i + "@university.edu";
+                    replies.add(clients.submit(() -> session(server.getPort(), "Sam", email)));
+                }
+                Set<String> ids = new HashSet<>();
+                for (Future<String> reply : replies) {
+                    String last = lastLine(reply.get(30, TimeUnit.SECONDS));
+                    assertTrue(last.startsWith("SAVED P"), last);
+                    assertTrue(ids.add(last.substring(6)));
+                }
+            }
+            assertEquals(51, Files.readAllLines(csv).size());
+        } finally {
+            SubmissionLog.forCsv(csv.toString()).close();
+            Files.deleteIfExists(SubmissionLog.logPath(csv));
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testRegisteredEmailIsRefused() throws Exception {
+        Path csv = Files.createTempFile("participants", ".csv");
+        try {
+            Files.write(csv, Arrays.asList(HEADER, "P120,Alice,alice@email.com,Dota,7,Strategist,92"));
+            try (SurveyIntakeServer server = new SurveyIntakeServer(csv.toString(), 0)) {
+                server.start();
+                String reply = session(server.getPort(), "Bob", "ALICE@email.com\nbob@email.com");
+
+                assertTrue(reply.contains("already registered"));
+                assertEquals("SAVED P121", lastLine(reply));
+                assertEquals(1, server.getSavedSessions());
+            }
+        } finally {
+            SubmissionLog.forCsv(csv.toString()).close();
+            Files.deleteIfExists(SubmissionLog.logPath(csv));
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    // Sends every answer at once and returns everything the server wrote
+    private String session(int port, String name, String email) throws IOException {
+        try (Socket socket = new Socket("localhost", port)) {
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            out.write(name + "\n" + email + "\n4\n4\n5\n3\n4\n2\n3\n7\n");
+            out.flush();
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String lastLine(String reply) {
+        String[] lines = reply.trim().split("\\R");
+        return lines[lines.length - 1];
+    }
+}
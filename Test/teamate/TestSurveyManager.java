@@ -0,0 +1,76 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSurveyManager {
+
+    @Test
+    void testBatchSavesEveryParticipantOnce() throws Exception {
+        Path csv = Files.createTempFile("participants", ".csv");
+        try {
+            Files.write(csv, Collections.singletonList("ID,Name,Email,Interest,Skill,Role,Score"));
+            List<Participant> batch = people(SurveyManager.BATCH_SIZE * 3 + 17);
+
+            SurveyBatchResult result = new SurveyManager().processSurveyDataInParallel(csv.toString(), batch)
+                    .get(30, TimeUnit.SECONDS);
+
+            assertTrue(result.isSuccessful());
+            assertEquals(batch.size(), result.getSaved());
+            List<String> lines = Files.readAllLines(csv);
+            assertEquals(batch.size() + 1, lines.size());
+            assertEquals(batch.size(), new HashSet<>(lines.subList(1, lines.size())).size());
+            assertTrue(ParticipantRegistry.forCsv(csv.toString()).isEmailRegistered("p1200@university.edu"));
+            SubmissionLog.forCsv(csv.toString()).close();
+        } finally {
+            Files.deleteIfExists(SubmissionLog.logPath(csv));
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testFailuresAreReportedPerParticipant() throws Exception {
+        String missing = Paths.get(System.getProperty("java.io.tmpdir"), "no-such-dir-" + System.nanoTime(),
+                "participants.csv").toString();
+        List<Participant> batch = people(300);
+        batch.add(new Participant("P9", "No Id", "noid@university.edu", "FIFA", 5, "Supporter",
+                null, null, null, null, null, 70, null) {
+            @Override
+            public String getId() { return null; }
+        });
+        batch.add(people(1).get(0)); // same ID as the first participant
+        ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            SurveyBatchResult result = new SurveyManager().processSurveyDataInParallel(missing, batch, virtualThreads)
+                    .get(30, TimeUnit.SECONDS);
+
+            assertFalse(result.isSuccessful());
+            assertEquals(0, result.getSaved());
+            assertEquals(302, result.getFailures().size());
+            assertTrue(result.getFailures().containsKey(0));
+            assertTrue(result.getFailures().containsKey(300));
+            assertTrue(result.getFailures().containsKey(301));
+        } finally {
+            virtualThreads.shutdown();
+        }
+    }
+
+    private List<Participant> people(int count) {
+        List<Participant> people = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String id = "P" + (1000 + i);
+            people.add(new Participant(id, "Name " + id, id.toLowerCase() + "@university.edu", "FIFA", 5,
+                    "Supporter", null, null, null, null, null, 70, null));
+        }
+        return people;
+    }
+}
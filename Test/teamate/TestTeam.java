@@ -36,4 +36,32 @@ class TestTeam {
         assertTrue(csv.contains("1,P101"));
         assertTrue(csv.contains("John Doe"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAggregatesTrackAddedMembers() {
+        team.addMember(participant1);
+        team.addMember(new Participant("P102", "Jane Roe", "jane@email.com",
+                "Valorant", 4, "Defender", 5, 5, 5, 5, 5, 100, "Leader"));
+
+        assertEquals(2, team.countGame("Valorant"));
+        assertEquals(0, team.countGame("Dota"));
+        assertEquals(1, team.countRole("Attacker"));
+        assertEquals(2, team.distinctRoles());
+        assertEquals(1, team.countPersonality("Leader"));
+        assertEquals(1, team.countPersonality("Balanced"));
+        assertEquals(12, team.getSkillSum());
+        assertEquals(6.0, team.getAverageSkill(), 0.0001);
+    }
+
+    @Test
+    void testAggregatesResetWhenMembersCleared() {
+        team.addMember(participant1);
+        team.getMembers().clear();
+
+        assertEquals(0, team.size());
+        assertEquals(0, team.countGame("Valorant"));
+        assertEquals(0, team.distinctRoles());
+        assertEquals(0, team.countPersonality("Balanced"));
+        assertEquals(0, team.getSkillSum());
+    }
+}
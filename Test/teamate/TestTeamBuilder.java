@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
 import java.util.*;
 
 class TestTeamBuilder {
@@ -30,25 +31,117 @@ class TestTeamBuilder {
     @Test
     void testFormAllTeamsWithValidParticipants() {
         TeamBuilder teamBuilder = new TeamBuilder(participants, 3);
-        Map<String, Object> result = teamBuilder.formAllTeams();
+        TeamFormationResult result = teamBuilder.formAllTeams();
 
         assertNotNull(result);
-        assertTrue(result.containsKey("wellBalanced"));
-        assertTrue(result.containsKey("secondary"));
-        assertTrue(result.containsKey("leftover"));
+        assertNotNull(result.getWellBalancedTeams());
+        assertNotNull(result.getSecondaryTeams());
+        assertNotNull(result.getLeftover());
     }
 
     @Test
     void testFormAllTeamsWithEmptyList() {
         TeamBuilder teamBuilder = new TeamBuilder(new ArrayList<>(), 4);
-        Map<String, Object> result = teamBuilder.formAllTeams();
+        TeamFormationResult result = teamBuilder.formAllTeams();
 
-        List<Team> wellBalanced = (List<Team>) result.get("wellBalanced");
-        List<Team> secondary = (List<Team>) result.get("secondary");
-        List<Participant> leftover = (List<Participant>) result.get("leftover");
+        List<Team> wellBalanced = result.getWellBalancedTeams();
+        List<Team> secondary = result.getSecondaryTeams();
+        List<Participant> leftover = result.getLeftover();
 
         assertTrue(wellBalanced.isEmpty());
         assertTrue(secondary.isEmpty());
         assertTrue(leftover.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWellBalancedTeamsMatchBaselineOnSampleCSV() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+
+        // Recorded from the list-based working pool before it was indexed
+        assertEquals("1:P001 P003 P009 P023 |2:P004 P006 P012 P014 |3:P007 P015 P018 P002 |"
+                        + "4:P010 P021 P024 P029 |5:P013 P027 P030 P041 |6:P016 P033 P039 P062 |"
+                        + "7:P019 P036 P042 P005 |8:P022 P045 P048 P044 |9:P025 P051 P054 P053 |"
+                        + "10:P028 P057 P066 P050 |11:P031 P060 P063 P065 |12:P034 P072 P075 P083 |"
+                        + "13:P037 P069 P078 P086 |14:P040 P081 P084 P008 |15:P043 P087 P090 P020 |"
+                        + "16:P046 P093 P099 P056 |19:P055 P011 P017 P026 |20:P058 P032 P059 P074 |"
+                        + "25:P073 P035 P047 P071 |",
+                describeTeams(new TeamBuilder(sample, 4).formAllTeams()));
+        assertEquals("1:P001 P003 P009 P056 P059 |2:P004 P006 P012 P014 P020 |3:P007 P015 P018 P002 P029 |"
+                        + "4:P010 P021 P024 P041 P044 |5:P013 P027 P030 P050 P068 |6:P016 P033 P039 P062 P089 |"
+                        + "7:P019 P036 P042 P005 P008 |9:P025 P051 P054 P035 P053 |11:P031 P060 P063 P065 P071 |"
+                        + "14:P040 P081 P084 P011 P017 |15:P043 P087 P090 P023 P032 |19:P055 P026 P047 P083 P086 |",
+                describeTeams(new TeamBuilder(sample, 5).formAllTeams()));
+    }
+
+    @Test
+    void testEveryParticipantAssignedOnceOnSampleCSV() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+        TeamFormationResult result = new TeamBuilder(sample, 6).formAllTeams();
+
+        Set<String> seen = new HashSet<>();
+        List<Team> all = new ArrayList<>(result.getWellBalancedTeams());
+        all.addAll(result.getSecondaryTeams());
+        for (Team t : all) {
+            for (Participant p : t.getMembers()) {
+                assertTrue(seen.add(p.getId()), "Duplicate assignment: " + p.getId());
+            }
+        }
+        for (Participant p : result.getLeftover()) {
+            assertTrue(seen.add(p.getId()), "Leftover participant also assigned: " + p.getId());
+        }
+        assertEquals(sample.size(), seen.size());
+    }
+
+    @Test
+    void testParallelFormationAssignsEachParticipantOnce() {
+        List<Participant> cohort = syntheticCohort(4000);
+        TeamFormationResult result = new TeamBuilder(cohort, 5, new java.util.concurrent.ForkJoinPool(4)).formAllTeams();
+
+        List<Team> wellBalanced = result.getWellBalancedTeams();
+        List<Team> all = new ArrayList<>(wellBalanced);
+        all.addAll(result.getSecondaryTeams());
+
+        Set<String> seen = new HashSet<>();
+        Set<Integer> teamIds = new HashSet<>();
+        for (Team t : wellBalanced) {
+            assertTrue(teamIds.add(t.getTeamID()), "Duplicate team ID: " + t.getTeamID());
+            assertEquals(5, t.size());
+            assertTrue(t.countPersonality("Leader") <= 1);
+            assertTrue(t.countPersonality("Thinker") <= 2);
+        }
+        for (Team t : all) {
+            for (Participant p : t.getMembers()) {
+                assertTrue(seen.add(p.getId()), "Duplicate assignment: " + p.getId());
+            }
+        }
+        for (Participant p : result.getLeftover()) {
+            assertTrue(seen.add(p.getId()), "Leftover participant also assigned: " + p.getId());
+        }
+        assertEquals(cohort.size(), seen.size());
+        assertFalse(wellBalanced.isEmpty());
+    }
+
+    private List<Participant> syntheticCohort(int size) {
+        String[] games = {"Valorant", "Dota", "FIFA", "Basketball", "Badminton", "Chess"};
+        String[] roles = {"Defender", "Strategist", "Attacker", "Supporter", "Coordinator"};
+        int[] scores = {95, 80, 60, 75, 85, 55, 92, 72};
+        Random random = new Random(42);
+        List<Participant> cohort = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            cohort.add(new Participant("P" + (1000 + i), "Participant_" + i, "user" + i + "@university.edu",
+                    games[random.nextInt(games.length)], 1 + random.nextInt(10), roles[random.nextInt(roles.length)],
+                    null, null, null, null, null, scores[random.nextInt(scores.length)], null));
+        }
+        return cohort;
+    }
+
+    private String describeTeams(TeamFormationResult result) {
+        StringBuilder sb = new StringBuilder();
+        for (Team t : result.getWellBalancedTeams()) {
+            sb.append(t.getTeamID()).append(':');
+            for (Participant p : t.getMembers()) sb.append(p.getId()).append(' ');
+            sb.append('|');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTeamFormationResult {
+
+    @Test
+    void testFromPoolLeavesUnplacedParticipantsInPoolOrder() {
+        List<Participant> pool = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) pool.add(person("P" + i));
+        Team balanced = team(1, pool.get(1), pool.get(3));
+        Team secondary = team(100, pool.get(4), pool.get(6));
+
+        TeamFormationResult result = TeamFormationResult.fromPool(pool, List.of(balanced), List.of(secondary));
+
+        assertEquals(Arrays.asList(pool.get(0), pool.get(2), pool.get(5)), result.getLeftover());
+        assertEquals(Arrays.asList(balanced, secondary), result.getAllTeams());
+        assertSame(result.getAllTeams(), result.getAllTeams());
+        assertSame(secondary, result.findTeam("P7"));
+        assertNull(result.findTeam("P1"));
+    }
+
+    @Test
+    void testListsCannotBeModified() {
+        List<Team> teams = new ArrayList<>(List.of(team(1, person("P1"))));
+        TeamFormationResult result = new TeamFormationResult(teams, new ArrayList<>(), new ArrayList<>());
+        teams.clear(); // the result keeps its own copy
+
+        assertEquals(1, result.getWellBalancedTeams().size());
+        assertThrows(UnsupportedOperationException.class, () -> result.getWellBalancedTeams().clear());
+        assertThrows(UnsupportedOperationException.class, () -> result.getLeftover().add(person("P2")));
+    }
+
+    @Test
+    void testStatistics() {
+        Participant a = person("P1"), b = person("P2"), c = person("P3");
+        a.setSkillLevel(4);
+        b.setSkillLevel(8);
+        c.setSkillLevel(9);
+        TeamFormationResult result = new TeamFormationResult(List.of(team(1, a)), List.of(team(100, b)), List.of(c));
+
+        TeamFormationResult.Statistics stats = result.getStatistics();
+        assertEquals(3, stats.getParticipants());
+        assertEquals(1.0 / 3, stats.getBalancedShare(), 1e-9);
+        assertEquals(6.0, stats.getAverageTeamSkill(), 1e-9);
+        assertEquals(2.0, stats.getSkillSpread(), 1e-9);
+        assertSame(stats, result.getStatistics());
+    }
+
+    private Team team(int id, Participant... members) {
+        Team t = new Team(id);
+        for (Participant p : members) t.addMember(p);
+        return t;
+    }
+
+    private Participant person(String id) {
+        return new Participant(id, "Name " + id, id.toLowerCase() + "@university.edu", "Chess", 5,
+                "Defender", null, null, null, null, null, 75, null);
+    }
+}
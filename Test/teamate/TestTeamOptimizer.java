@@ -0,0 +1,80 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTeamOptimizer {
+
+    @Test
+    void testNeverFewerBalancedTeamsThanGreedy() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+        TeamFormationResult greedy = new TeamBuilder(sample, 5).formAllTeams();
+        TeamFormationResult optimized = new TeamOptimizer(5, 42).optimize(greedy, Duration.ofSeconds(10), 200_000);
+
+        List<Team> wellBalanced = optimized.getWellBalancedTeams();
+        assertTrue(wellBalanced.size() >= greedy.getWellBalancedTeams().size());
+        for (Team t : wellBalanced) {
+            assertEquals(5, t.size());
+            assertTrue(t.countPersonality(PersonalityType.LEADER) <= 1);
+            assertTrue(t.countPersonality(PersonalityType.THINKER) <= 2);
+            assertTrue(t.distinctRoles() >= 3);
+            for (Participant p : t.getMembers()) {
+                assertTrue(t.countGame(p.getGame()) <= 2);
+                assertTrue(p.isEligibleForTeams());
+            }
+        }
+        assertEachParticipantOnce(sample, optimized);
+    }
+
+    @Test
+    void testSameSeedAndMoveLimitGiveSameTeams() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+        TeamFormationResult greedy = new TeamBuilder(sample, 4).formAllTeams();
+
+        String first = describe(new TeamOptimizer(4, 7).optimize(greedy, Duration.ofSeconds(10), 50_000));
+        String second = describe(new TeamOptimizer(4, 7).optimize(greedy, Duration.ofSeconds(10), 50_000));
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testTimeBudgetStopsTheSearch() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+        TeamFormationResult greedy = new TeamBuilder(sample, 5).formAllTeams();
+        TeamOptimizer optimizer = new TeamOptimizer(5, 1);
+
+        long start = System.nanoTime();
+        optimizer.optimize(greedy, Duration.ofMillis(200));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 2_000, "Search overran its budget: " + elapsedMs + " ms");
+        assertTrue(optimizer.getMovesTried() > 0);
+    }
+
+    private void assertEachParticipantOnce(List<Participant> participants, TeamFormationResult result) {
+        Set<Participant> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Team> all = new ArrayList<>(result.getWellBalancedTeams());
+        all.addAll(result.getSecondaryTeams());
+        for (Team t : all) {
+            for (Participant p : t.getMembers()) assertTrue(seen.add(p), "Duplicate assignment: " + p.getId());
+        }
+        for (Participant p : result.getLeftover()) {
+            assertTrue(seen.add(p), "Leftover participant also assigned: " + p.getId());
+        }
+        assertEquals(participants.size(), seen.size());
+    }
+
+    private String describe(TeamFormationResult result) {
+        StringBuilder sb = new StringBuilder();
+        for (Team t : result.getWellBalancedTeams()) {
+            sb.append(t.getTeamID()).append(':');
+            for (Participant p : t.getMembers()) sb.append(p.getId()).append(' ');
+            sb.append('|');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTeamRoster {
+    private static final String[] GAMES = {"Valorant", "Dota", "FIFA", "Chess"};
+    private static final String[] ROLES = {"Defender", "Strategist", "Attacker", "Supporter"};
+
+    @Test
+    void testNewParticipantsFormTeamFromPool() {
+        TeamRoster roster = new TeamRoster(TeamFormationResult.empty(), 4);
+
+        assertEquals(TeamRoster.Outcome.UNASSIGNED, roster.addParticipant(person("P1", 0, 0, 95)));
+        assertEquals(TeamRoster.Outcome.UNASSIGNED, roster.addParticipant(person("P2", 1, 1, 60)));
+        assertEquals(TeamRoster.Outcome.UNASSIGNED, roster.addParticipant(person("P3", 2, 2, 75)));
+        assertEquals(TeamRoster.Outcome.FORMED_TEAM, roster.addParticipant(person("P4", 3, 3, 80)));
+
+        assertEquals(1, roster.getWellBalancedTeams().size());
+        assertTrue(roster.getUnassigned().isEmpty());
+        assertSame(roster.getWellBalancedTeams().get(0), roster.findTeam("P3"));
+    }
+
+    @Test
+    void testEditBreakingTeamRepairsWithUnassignedParticipant() {
+        TeamRoster roster = new TeamRoster(TeamFormationResult.empty(), 4);
+        roster.addParticipant(person("P1", 0, 0, 95));
+        roster.addParticipant(person("P2", 1, 1, 60));
+        roster.addParticipant(person("P3", 2, 2, 75));
+        roster.addParticipant(person("P4", 3, 3, 80));
+        roster.addParticipant(person("P5", 3, 3, 72)); // waits in the pool
+        Team team = roster.findTeam("P4");
+
+        // A second leader breaks the team; P5 can take P4's place
+        assertEquals(TeamRoster.Outcome.TEAM_REPAIRED, roster.updateParticipant(person("P4", 3, 3, 92)));
+
+        assertSame(team, roster.findTeam("P5"));
+        assertNull(roster.findTeam("P4"));
+        assertTrue(TeamConstraints.DEFAULT.isWellBalanced(team, 4));
+        assertEquals(1, roster.getUnassigned().size());
+    }
+
+    @Test
+    void testEditBreakingTeamWithoutSwapDemotesIt() {
+        TeamRoster roster = new TeamRoster(TeamFormationResult.empty(), 4);
+        roster.addParticipant(person("P1", 0, 0, 95));
+        roster.addParticipant(person("P2", 1, 1, 60));
+        roster.addParticipant(person("P3", 2, 2, 75));
+        roster.addParticipant(person("P4", 3, 3, 80));
+
+        assertEquals(TeamRoster.Outcome.TEAM_DEMOTED, roster.updateParticipant(person("P4", 3, 3, 92)));
+        assertTrue(roster.getWellBalancedTeams().isEmpty());
+        assertEquals(1, roster.getSecondaryTeams().size());
+
+        // Fixing the edit again brings the team back
+        assertEquals(TeamRoster.Outcome.TEAM_PROMOTED, roster.updateParticipant(person("P4", 3, 3, 80)));
+        assertEquals(1, roster.getWellBalancedTeams().size());
+    }
+
+    @Test
+    void testLookupFollowsDemotionAndPool() {
+        TeamRoster roster = new TeamRoster(TeamFormationResult.empty(), 4);
+        roster.addParticipant(person("P1", 0, 0, 95));
+        roster.addParticipant(person("P2", 1, 1, 60));
+        roster.addParticipant(person("P3", 2, 2, 75));
+        roster.addParticipant(person("P4", 3, 3, 80));
+        Team team = roster.findTeam("P2");
+        assertTrue(roster.isWellBalanced(team));
+
+        roster.updateParticipant(person("P4", 3, 3, 92)); // second leader demotes the team
+        roster.addParticipant(person("P5", 0, 1, 40));    // not eligible, waits in the pool
+
+        assertSame(team, roster.findTeam("P4"));
+        assertFalse(roster.isWellBalanced(team));
+        assertNull(roster.findTeam("P5"));
+        assertNotNull(roster.findParticipant("P5"));
+        assertNull(roster.findParticipant("P6"));
+    }
+
+    @Test
+    void testAddsKeepSampleTeamsConsistent() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+        TeamRoster roster = new TeamRoster(new TeamBuilder(sample, 5).formAllTeams(), 5);
+
+        for (int i = 0; i < 12; i++) {
+            roster.addParticipant(person("N" + i, i % GAMES.length, (i + 1) % ROLES.length, 60 + 3 * i));
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (Team t : roster.getWellBalancedTeams()) {
+            assertTrue(TeamConstraints.DEFAULT.isWellBalanced(t, 5), "Team " + t.getTeamID() + " is not balanced");
+            for (Participant p : t.getMembers()) assertTrue(seen.add(p.getId()));
+        }
+        for (Team t : roster.getSecondaryTeams()) {
+            for (Participant p : t.getMembers()) assertTrue(seen.add(p.getId()));
+        }
+        for (Participant p : roster.getUnassigned()) assertTrue(seen.add(p.getId()));
+        assertEquals(sample.size() + 12, seen.size());
+    }
+
+    @Test
+    void testNewcomerReplacesMemberBreakingSecondaryTeam() {
+        Team team = new Team(1);
+        team.addMember(person("P1", 0, 0, 95));
+        team.addMember(person("P2", 1, 1, 92)); // second leader
+        team.addMember(person("P3", 2, 2, 75));
+        team.addMember(person("P4", 3, 3, 60));
+        TeamRoster roster = new TeamRoster(new TeamFormationResult(
+                Collections.emptyList(), Collections.singletonList(team), Collections.emptyList()), 4);
+
+        assertEquals(TeamRoster.Outcome.UNASSIGNED, roster.addParticipant(person("P5", 0, 1, 98)));
+        assertEquals(TeamRoster.Outcome.JOINED_TEAM, roster.addParticipant(person("P6", 0, 1, 80)));
+
+        assertTrue(roster.isWellBalanced(team));
+        assertSame(team, roster.findTeam("P6"));
+        assertNull(roster.findTeam("P1"));
+        assertEquals(2, roster.getUnassigned().size());
+    }
+
+    @Test
+    void testAddJoinsWheneverSomeSwapFixesASecondaryTeam() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+        TeamRoster roster = new TeamRoster(new TeamBuilder(sample, 5).formAllTeams(), 5);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200; i++) {
+            Participant p = person("R" + i, random.nextInt(GAMES.length), random.nextInt(ROLES.length),
+                    40 + random.nextInt(61));
+            boolean fixable = false;
+            for (Team t : roster.getSecondaryTeams()) {
+                for (int slot = 0; slot < t.size() && !fixable; slot++) {
+                    Participant old = t.getMembers().set(slot, p);
+                    fixable = p.isEligibleForTeams() && TeamConstraints.DEFAULT.isWellBalanced(t, 5);
+                    t.getMembers().set(slot, old);
+                }
+            }
+            assertEquals(fixable, roster.addParticipant(p) == TeamRoster.Outcome.JOINED_TEAM, "Participant " + i);
+        }
+    }
+
+    @Test
+    void testRepairOnlyTriesCandidatesThatFit() {
+        Team team = new Team(1);
+        team.addMember(person("P1", 0, 0, 95));
+        team.addMember(person("P2", 1, 1, 60));
+        team.addMember(person("P3", 2, 2, 75));
+        team.addMember(person("P4", 3, 3, 80));
+        // Many secondary teams of leaders, and one Balanced member that fits where P4 was
+        List<Team> secondary = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Team leaders = new Team(10 + i);
+            for (int m = 0; m < 4; m++) leaders.addMember(person("L" + i + "_" + m, m, (m + i) % ROLES.length, 95));
+            secondary.add(leaders);
+        }
+        secondary.get(49).getMembers().set(3, person("X1", 3, 3, 72));
+        TeamRoster roster = new TeamRoster(new TeamFormationResult(
+                Collections.singletonList(team), secondary, Collections.emptyList()), 4);
+
+        // A second leader breaks the team; only X1 is not a leader
+        assertEquals(TeamRoster.Outcome.TEAM_REPAIRED, roster.updateParticipant(person("P4", 3, 3, 92)));
+
+        assertEquals(1, roster.getRepairCandidatesTried());
+        assertSame(team, roster.findTeam("X1"));
+        assertSame(secondary.get(49), roster.findTeam("P4"));
+        assertTrue(TeamConstraints.DEFAULT.isWellBalanced(team, 4));
+    }
+
+    @Test
+    void testEditRepairsWheneverSomeSwapFixesTheTeam() throws IOException {
+        List<Participant> sample = new FileManager().readParticipantsFromCSV("participants_sample.csv");
+        TeamRoster roster = new TeamRoster(new TeamBuilder(sample, 5).formAllTeams(), 5);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 300; i++) {
+            List<Team> balanced = roster.getWellBalancedTeams();
+            if (balanced.isEmpty()) break;
+            Team team = balanced.get(random.nextInt(balanced.size()));
+            int slot = random.nextInt(team.size());
+            Participant member = team.getMembers().get(slot);
+            Participant edited = person(member.getId(), random.nextInt(GAMES.length), random.nextInt(ROLES.length),
+                    40 + random.nextInt(61));
+
+            // Expected: the edit breaks the team and some unassigned or secondary participant fits the slot
+            List<Participant> candidates = new ArrayList<>(roster.getUnassigned());
+            for (Team t : roster.getSecondaryTeams()) candidates.addAll(t.getMembers());
+            team.getMembers().set(slot, edited);
+            boolean breaks = !TeamConstraints.DEFAULT.isWellBalanced(team, 5);
+            boolean fixable = false;
+            for (int c = 0; c < candidates.size() && breaks && !fixable; c++) {
+                team.getMembers().set(slot, candidates.get(c));
+                fixable = TeamConstraints.DEFAULT.isWellBalanced(team, 5);
+            }
+            team.getMembers().set(slot, member);
+
+            TeamRoster.Outcome outcome = roster.updateParticipant(edited);
+            assertEquals(breaks && fixable, outcome == TeamRoster.Outcome.TEAM_REPAIRED, "Edit " + i);
+            assertEquals(breaks && !fixable, outcome == TeamRoster.Outcome.TEAM_DEMOTED, "Edit " + i);
+            for (Team t : roster.getWellBalancedTeams()) assertTrue(TeamConstraints.DEFAULT.isWellBalanced(t, 5));
+        }
+    }
+
+    private Participant person(String id, int game, int role, int score) {
+        return new Participant(id, "Name " + id, id.toLowerCase() + "@university.edu", GAMES[game], 5,
+                ROLES[role], null, null, null, null, null, score, null);
+    }
+}
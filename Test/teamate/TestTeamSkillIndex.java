@@ -0,0 +1,71 @@
+package teamate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTeamSkillIndex {
+
+    @Test
+    void testMatchesLinearBestFitScan() {
+        Random random = new Random(11);
+        int teamSize = 5;
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Team t = new Team(i + 1);
+            int members = random.nextInt(teamSize);
+            for (int m = 0; m < members; m++) t.addMember(member(i * 10 + m, 1 + random.nextInt(10)));
+            teams.add(t);
+        }
+        TeamSkillIndex index = new TeamSkillIndex(teams, teamSize);
+
+        for (int round = 0; round < 2000; round++) {
+            int skill = 1 + random.nextInt(10);
+            int blockedGame = random.nextInt(4);
+            Predicate<Team> filter = t -> t.getTeamID() % 4 != blockedGame;
+
+            int expected = linearBestFit(teams, teamSize, skill, filter);
+            int actual = index.findBestFit(skill, filter);
+            assertEquals(expected, actual, "Round " + round + ", skill " + skill);
+
+            if (actual >= 0) {
+                teams.get(actual).addMember(member(100_000 + round, skill));
+                index.refresh(actual);
+            }
+        }
+    }
+
+    @Test
+    void testFullTeamsAreSkipped() {
+        List<Team> teams = new ArrayList<>();
+        Team full = new Team(1);
+        for (int m = 0; m < 4; m++) full.addMember(member(m, 5));
+        teams.add(full);
+        teams.add(new Team(2));
+
+        TeamSkillIndex index = new TeamSkillIndex(teams, 4);
+        assertEquals(1, index.findBestFit(5, t -> true));
+        assertEquals(-1, index.findBestFit(5, t -> t.getTeamID() == 1));
+    }
+
+    // Previous selection: first team with room and the smallest (int)|average - skill|
+    private int linearBestFit(List<Team> teams, int teamSize, int skill, Predicate<Team> filter) {
+        return teams.stream()
+                .filter(t -> t.size() < teamSize)
+                .filter(filter)
+                .min(Comparator.comparingInt(t -> t.size() == 0 ? 0 : (int) Math.abs(t.getAverageSkill() - skill)))
+                .map(teams::indexOf)
+                .orElse(-1);
+    }
+
+    private Participant member(int n, int skill) {
+        return new Participant("P" + n, "Name " + n, "p" + n + "@university.edu", "Chess", skill,
+                "Defender", null, null, null, null, null, 75, null);
+    }
+}
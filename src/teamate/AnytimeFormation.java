@@ -0,0 +1,97 @@
+package teamate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Handle for a deadline-bounded team formation running on an executor.
+ * The best result found so far is available at any time, and cancelling
+ * stops the search early while keeping that result.
+ */
+public class AnytimeFormation {
+    private final Logger logger = Logger.getInstance();
+    private final Consumer<FormationProgress> listener;
+    private final AtomicReference<FormationProgress> latest = new AtomicReference<>();
+    private final CompletableFuture<TeamFormationResult> done = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final long startTime = System.nanoTime();
+    private volatile long finishTime; // 0 while running
+    private volatile Future<?> task;
+    private volatile boolean cancelled;
+
+    AnytimeFormation(Consumer<FormationProgress> listener) {
+        this.listener = listener;
+        done.whenComplete((result, error) -> finishTime = System.nanoTime());
+    }
+
+    void start(ExecutorService executor, Supplier<TeamFormationResult> work) {
+        task = executor.submit(() -> {
+            if (!started.compareAndSet(false, true)) return; // cancelled before it ran
+            try {
+                done.complete(work.get());
+            } catch (RuntimeException | Error e) {
+                logger.error("Anytime team formation failed - " + e);
+                done.completeExceptionally(e);
+            }
+        });
+        if (cancelled) task.cancel(true); // cancel() ran before task was set
+    }
+
+    // Called by the optimizer with each snapshot
+    void publish(FormationProgress progress) {
+        latest.set(progress);
+        if (listener == null) return;
+        try {
+            listener.accept(progress);
+        } catch (RuntimeException e) {
+            logger.warn("Formation progress listener failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop the formation. A running search finishes its current batch of moves and
+     * completes with the best result so far; a formation that had not started yet
+     * completes with null.
+     */
+    public void cancel() {
+        cancelled = true;
+        if (started.compareAndSet(false, true)) {
+            done.complete(getBestResult());
+            return;
+        }
+        Future<?> t = task;
+        if (t != null) t.cancel(true);
+    }
+
+    public boolean isCancelled() { return cancelled; }
+
+    public boolean isDone() { return done.isDone(); }
+
+    // Most recent snapshot, or null before the greedy pass has finished
+    public FormationProgress getLatest() { return latest.get(); }
+
+    // Best result so far, or null before the greedy pass has finished
+    public TeamFormationResult getBestResult() {
+        FormationProgress p = latest.get();
+        return p == null ? null : p.getResult();
+    }
+
+    // Time since the formation was requested, up to when it finished
+    public long getElapsedMillis() {
+        long end = finishTime;
+        return ((end != 0 ? end : System.nanoTime()) - startTime) / 1_000_000;
+    }
+
+    /**
+     * Wait for the formation to finish (deadline reached or cancelled) and return its result.
+     */
+    public TeamFormationResult await() throws InterruptedException, ExecutionException {
+        return done.get();
+    }
+}
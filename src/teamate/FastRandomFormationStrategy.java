@@ -0,0 +1,91 @@
+package teamate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Single pass over the participants in a seeded random order. Each eligible participant
+ * joins the first of a few open teams whose rules they fit; when every open team
+ * rejects them they wait for the secondary teams. Linear time, with far better teams
+ * than round-robin; skill is evened out only by the shuffle.
+ */
+public class FastRandomFormationStrategy implements TeamFormationStrategy {
+    // Teams being filled at once; more finds more fits, fewer is faster
+    private static final int OPEN_TEAMS = 8;
+
+    private final long seed;
+
+    public FastRandomFormationStrategy(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String getName() { return TeamFormationStrategies.FAST_RANDOM; }
+
+    @Override
+    public String getDescription() { return "Fast random - one randomized pass with rule checks (fast)"; }
+
+    @Override
+    public FormationReport formTeams(List<Participant> participants, int teamSize, TeamConstraints constraints) {
+        long start = System.nanoTime();
+        int size = Math.max(1, teamSize);
+        List<Participant> order = new ArrayList<>(participants);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = order.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Participant tmp = order.get(i);
+            order.set(i, order.get(j));
+            order.set(j, tmp);
+        }
+
+        List<Team> wellBalanced = new ArrayList<>();
+        List<Participant> waiting = new ArrayList<>();
+        List<Team> open = new ArrayList<>(OPEN_TEAMS);
+        for (Participant p : order) {
+            if (!p.isValid() || !p.isEligibleForTeams()) {
+                waiting.add(p);
+                continue;
+            }
+            Team home = null;
+            for (Team t : open) {
+                if (constraints.fits(t, p)) {
+                    home = t;
+                    break;
+                }
+            }
+            if (home == null && open.size() < OPEN_TEAMS) {
+                home = new Team(0); // numbered when complete
+                open.add(home);
+            }
+            if (home == null) {
+                waiting.add(p);
+                continue;
+            }
+            home.addMember(p);
+            if (home.size() == size) {
+                open.remove(home);
+                if (constraints.isWellBalanced(home, size)) {
+                    Team numbered = new Team(wellBalanced.size() + 1);
+                    for (Participant m : home.getMembers()) numbered.addMember(m);
+                    wellBalanced.add(numbered);
+                } else {
+                    waiting.addAll(home.getMembers());
+                }
+            }
+        }
+        for (Team t : open) waiting.addAll(t.getMembers());
+
+        // Everyone else is dealt into secondary teams, numbered from 100 as in TeamBuilder
+        List<Team> secondary = new ArrayList<>();
+        int full = waiting.size() / size * size;
+        for (int i = 0; i < full; i += size) {
+            Team team = new Team(100 + secondary.size());
+            for (Participant m : waiting.subList(i, i + size)) team.addMember(m);
+            secondary.add(team);
+        }
+
+        TeamFormationResult result = new TeamFormationResult(wellBalanced, secondary, waiting.subList(full, waiting.size()));
+        return new FormationReport(getName(), result, (System.nanoTime() - start) / 1_000_000, null);
+    }
+}
@@ -3,6 +3,11 @@ package teamate;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * FileManager reads CSV files and writes formed teams.
@@ -10,11 +15,127 @@ import java.util.*;
  */
 public class FileManager {
     private final Logger logger = Logger.getInstance();
+    private final PersonalityClassifier classifier;
     private String personalityType;
 
+    /**
+     * How participant CSV files are parsed.
+     * STANDARD reads line by line; MAPPED memory-maps the file and scans the bytes directly;
+     * PARALLEL also splits the mapped file into newline-aligned chunks parsed across cores.
+     * STORE converts the CSV to a binary ParticipantStore next to it once, and again
+     * only when the CSV changes, then reads the store instead of parsing.
+     */
+    public enum ParseMode {
+        STANDARD, MAPPED, PARALLEL, STORE
+    }
+
+    // Suffix of the binary store kept next to a converted CSV file
+    public static final String STORE_SUFFIX = ".store";
+
+    // Classifies loaded participants with the default thresholds
+    public FileManager() {
+        this(PersonalityClassifier.standard());
+    }
+
+    // Classifies loaded participants with the given thresholds; stores keep the types they were written with
+    public FileManager(PersonalityClassifier classifier) {
+        this.classifier = classifier;
+    }
+
+    // Reads participants from the given CSV path using the chosen parser
+    public List<Participant> readParticipantsFromCSV(String path, ParseMode mode) throws IOException {
+        if (mode == ParseMode.MAPPED) {
+            return new MappedCsvParser(this).parse(path);
+        }
+        if (mode == ParseMode.PARALLEL) {
+            return new MappedCsvParser(this).parse(path, ForkJoinPool.commonPool());
+        }
+        if (mode == ParseMode.STORE) {
+            ParticipantStore store = openParticipantStore(path);
+            List<Participant> participants = new ArrayList<>(store.size());
+            for (int i = 0; i < store.size(); i++) participants.add(store.load(i));
+            return participants;
+        }
+        return readParticipantsFromCSV(path);
+    }
+
+    /**
+     * Opens the binary store for a CSV file, converting the CSV first if the store is
+     * missing or older than the CSV. Opening maps the store; participants are decoded
+     * lazily, so this is fast and does not grow the heap whatever the roster size.
+     */
+    public ParticipantStore openParticipantStore(String csvPath) throws IOException {
+        Path csv = Paths.get(csvPath);
+        Path store = Paths.get(csvPath + STORE_SUFFIX);
+        if (!Files.exists(store) || (Files.exists(csv)
+                && Files.getLastModifiedTime(store).compareTo(Files.getLastModifiedTime(csv)) < 0)) {
+            convertCsvToStore(csvPath, store.toString());
+        }
+        ParticipantStore opened = ParticipantStore.open(store);
+        logger.debug("Opened participant store {} with {} participants", store, opened.size());
+        return opened;
+    }
+
+    /**
+     * One-time conversion of a participant CSV to a binary store. Rows are streamed,
+     * so the CSV is never held in memory. Returns the number of participants written.
+     * If the conversion fails, an existing store is left as it was.
+     */
+    public int convertCsvToStore(String csvPath, String storePath) throws IOException {
+        long start = System.nanoTime();
+        ParticipantStore.Writer writer = new ParticipantStore.Writer(Paths.get(storePath));
+        try (Stream<Participant> rows = streamParticipantsFromCSV(csvPath)) {
+            Iterator<Participant> it = rows.iterator();
+            while (it.hasNext()) writer.add(it.next());
+            writer.close();
+            logger.info(String.format("Converted %s to participant store %s - Participants: %d, Time: %d ms",
+                    csvPath, storePath, writer.getCount(), (System.nanoTime() - start) / 1_000_000));
+            return writer.getCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.abort(); // no-op once closed
+        }
+    }
+
+    /**
+     * Reads participants straight into a columnar table, so no per-participant
+     * objects are retained. Row order and diagnostics match readParticipantsFromCSV.
+     */
+    public ParticipantTable readParticipantTable(String path, ParseMode mode) throws IOException {
+        ParticipantTable table = new ParticipantTable(1024);
+        if (mode == ParseMode.STANDARD) {
+            try (Stream<Participant> rows = streamParticipantsFromCSV(path)) {
+                rows.forEach(table::add);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } else if (mode == ParseMode.STORE) {
+            ParticipantStore store = openParticipantStore(path);
+            for (int i = 0; i < store.size(); i++) table.add(store.get(i));
+        } else {
+            new MappedCsvParser(this).parse(path, mode == ParseMode.PARALLEL ? ForkJoinPool.commonPool() : null, table::add);
+        }
+        return table;
+    }
+
     // Reads participants from the given CSV path
     public List<Participant> readParticipantsFromCSV(String path) throws IOException {
-        logger.debug("Reading participants from CSV: " + path);
+        try (Stream<Participant> rows = streamParticipantsFromCSV(path)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams participants from the given CSV path one row at a time, so callers can
+     * start processing before the whole file is read. The header is resolved once.
+     * The stream must be closed to release the file; I/O errors while reading surface
+     * as UncheckedIOException.
+     */
+    public Stream<Participant> streamParticipantsFromCSV(String path) throws IOException {
+        logger.debug("Reading participants from CSV: {}", path);
 
         Path p = Paths.get(path);
         if (!Files.exists(p)) {
@@ -22,74 +143,156 @@ public class FileManager {
             throw new FileNotFoundException("CSV file not found: " + path);
         }
 
-        List<Participant> list = new ArrayList<>();
-        int lineCount = 0;
-        int successCount = 0;
-
-        try (BufferedReader br = Files.newBufferedReader(p)) {
+        BufferedReader br = Files.newBufferedReader(p);
+        try {
             String header = br.readLine();
             if (header == null) {
                 logger.warn("CSV file is empty: " + path);
-                return list;
+                br.close();
+                return Stream.empty();
             }
 
-            logger.debug("CSV header: " + header);
-            String[] cols = header.split(",", -1);
+            logger.debug("CSV header: {}", header);
+            ParticipantRows rows = new ParticipantRows(br, new CsvColumns(header.split(",", -1)));
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        } catch (IOException | RuntimeException e) {
+            br.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Column positions resolved once from the CSV header (-1 when absent).
+     */
+    static final class CsvColumns {
+        final int id, name, email, interest, skill, role, q1, q2, q3, q4, q5, score;
+
+        CsvColumns(String[] cols) {
             Map<String, Integer> idx = new HashMap<>();
             for (int i = 0; i < cols.length; i++) idx.put(cols[i].trim().toLowerCase(), i);
 
-            String line;
-            int ln = 1;
-            while ((line = br.readLine()) != null) {
-                ln++;
-                lineCount++;
-                if (line.trim().isEmpty()) continue;
-                String[] tokens = line.split(",", -1);
-                try {
-                    String id = token(tokens, idx, "id", "ID");
-                    String name = token(tokens, idx, "name", "Name");
-                    String email = token(tokens, idx, "email", "Email");
-                    String interest = token(tokens, idx, "preferredgame", "preferred_game", "interest", "preferredgame");
-                    String skillStr = token(tokens, idx, "skilllevel", "skill_level", "skill");
-                    int skill = parseIntSafe(skillStr, 0);
-                    String role = token(tokens, idx, "preferredrole", "preferred_role", "role");
-
-                    Integer q1 = parseIntOrNull(token(tokens, idx, "q1", "q_1"));
-                    Integer q2 = parseIntOrNull(token(tokens, idx, "q2", "q_2"));
-                    Integer q3 = parseIntOrNull(token(tokens, idx, "q3", "q_3"));
-                    Integer q4 = parseIntOrNull(token(tokens, idx, "q4", "q_4"));
-                    Integer q5 = parseIntOrNull(token(tokens, idx, "q5", "q_5"));
-                    Integer personalityScore = parseIntOrNull(token(tokens, idx, "personalityscore", "personality_score", "score"));
-
-                    // Create a Participant object
-                    Participant pObj = new Participant(id, name, email, interest, skill, role,
-                            q1, q2, q3, q4, q5, personalityScore, personalityType);
-
-                    // Validate personality score range (0-100)
-                    int ps = pObj.getPersonalityScore();
-                    if (ps < 0 || ps > 100) {
-                        logger.warn("Personality score out of range at line " + ln + ": " + ps);
+            id = find(idx, "id");
+            name = find(idx, "name");
+            email = find(idx, "email");
+            interest = find(idx, "preferredgame", "preferred_game", "interest");
+            skill = find(idx, "skilllevel", "skill_level", "skill");
+            role = find(idx, "preferredrole", "preferred_role", "role");
+            q1 = find(idx, "q1", "q_1");
+            q2 = find(idx, "q2", "q_2");
+            q3 = find(idx, "q3", "q_3");
+            q4 = find(idx, "q4", "q_4");
+            q5 = find(idx, "q5", "q_5");
+            score = find(idx, "personalityscore", "personality_score", "score");
+        }
+
+        private static int find(Map<String, Integer> idx, String... keys) {
+            for (String k : keys) {
+                Integer i = idx.get(k);
+                if (i != null) return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Lazily parses CSV rows into participants, skipping invalid lines.
+     */
+    private final class ParticipantRows extends Spliterators.AbstractSpliterator<Participant> {
+        private final BufferedReader br;
+        private final CsvColumns columns;
+        private int ln = 1;
+        private int lineCount = 0;
+        private int successCount = 0;
+        private boolean closed = false;
+
+        ParticipantRows(BufferedReader br, CsvColumns columns) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.br = br;
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Participant> action) {
+            try {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    ln++;
+                    lineCount++;
+                    if (line.trim().isEmpty()) continue;
+                    Participant pObj = parseRow(line.split(",", -1), columns, ln);
+                    if (pObj != null) {
+                        successCount++;
+                        action.accept(pObj);
+                        return true;
                     }
-                    list.add(pObj);
-                    successCount++;
-                } catch (Exception ex) {
-                    logger.warn("Skipping invalid line " + ln + ": " + ex.getMessage());
                 }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            try {
+                br.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close CSV reader: " + e.getMessage());
             }
+            logger.info(String.format("CSV parsing completed - Lines: %d, Success: %d, Failed: %d",
+                    lineCount, successCount, lineCount - successCount));
         }
+    }
 
-        logger.info(String.format("CSV parsing completed - Lines: %d, Success: %d, Failed: %d",
-                lineCount, successCount, lineCount - successCount));
-        return list;
+    // Builds a participant from one CSV row, or returns null if the row is invalid
+    private Participant parseRow(String[] tokens, CsvColumns columns, int ln) {
+        return createParticipant(
+                token(tokens, columns.id), token(tokens, columns.name), token(tokens, columns.email),
+                token(tokens, columns.interest), parseIntSafe(token(tokens, columns.skill), 0),
+                token(tokens, columns.role),
+                parseIntOrNull(token(tokens, columns.q1)), parseIntOrNull(token(tokens, columns.q2)),
+                parseIntOrNull(token(tokens, columns.q3)), parseIntOrNull(token(tokens, columns.q4)),
+                parseIntOrNull(token(tokens, columns.q5)), parseIntOrNull(token(tokens, columns.score)),
+                ln);
     }
 
-    // Helper method to safely extract tokens from the CSV
-    private String token(String[] tokens, Map<String,Integer> idx, String... keys) {
-        for (String k : keys) {
-            Integer i = idx.get(k.toLowerCase());
-            if (i != null && i < tokens.length) return tokens[i].trim();
+    // Creates a participant from already-decoded column values, or returns null if the row is invalid
+    Participant createParticipant(String id, String name, String email, String interest, int skill, String role,
+                                  Integer q1, Integer q2, Integer q3, Integer q4, Integer q5,
+                                  Integer personalityScore, int ln) {
+        try {
+            // Validate the raw values; the constructor clamps and classifies them once
+            boolean answered = q1 != null && q2 != null && q3 != null && q4 != null && q5 != null;
+            if (!answered && personalityScore == null) {
+                logger.warn("Skipping invalid line " + ln + ": no personality score");
+                return null;
+            }
+            if (answered) {
+                if (!isAnswer(q1) || !isAnswer(q2) || !isAnswer(q3) || !isAnswer(q4) || !isAnswer(q5)) {
+                    logger.warn("Personality answer out of range at line " + ln + ": " + q1 + "," + q2 + "," + q3 + "," + q4 + "," + q5);
+                }
+            } else if (personalityScore < 0 || personalityScore > 100) {
+                logger.warn("Personality score out of range at line " + ln + ": " + personalityScore);
+            }
+
+            // Create a Participant object
+            return new Participant(id, name, email, interest, skill, role,
+                    q1, q2, q3, q4, q5, personalityScore, personalityType, classifier);
+        } catch (Exception ex) {
+            logger.warn("Skipping invalid line " + ln + ": " + ex.getMessage());
+            return null;
         }
-        return "";
+    }
+
+    // Survey answers are 1-5
+    private static boolean isAnswer(int q) {
+        return q >= 1 && q <= 5;
+    }
+
+    // Helper method to safely extract a resolved column from the CSV row
+    private String token(String[] tokens, int i) {
+        return i >= 0 && i < tokens.length ? tokens[i].trim() : "";
     }
 
     // Helper method to safely parse integers or return null
@@ -124,8 +327,7 @@ public class FileManager {
                 }
             }
 
-            logger.debug(String.format("Team CSV written - Teams: %d, Participants: %d",
-                    teams.size(), participantCount));
+            logger.debug("Team CSV written - Teams: {}, Participants: {}", teams.size(), participantCount);
         } catch (IOException e) {
             logger.error("Failed to write teams to CSV: " + path, e);
             throw e;
@@ -134,33 +336,12 @@ public class FileManager {
 
     // Helper method to form teams (uses the Participant data)
     public List<Team> formTeams(List<Participant> participants, int teamSize) {
-        logger.debug("Forming basic teams for " + participants.size() + " participants, team size: " + teamSize);
-
-        List<Team> teams = new ArrayList<>();
-        int teamID = 1; // Initialize team IDs
+        logger.debug("Forming basic teams for {} participants, team size: {}", participants.size(), teamSize);
 
-        // Create teams based on team size
-        for (int i = 0; i < (participants.size() + teamSize - 1) / teamSize; i++) {
-            teams.add(new Team(teamID++));  // Create a new team and assign an ID
-        }
-
-        // Assign participants to teams
-        for (Participant p : participants) {
-            Team bestTeam = null;
-            for (Team t : teams) {
-                if (t.size() < teamSize) {
-                    bestTeam = t;
-                    break;
-                }
-            }
-
-            // Add the participant to the best available team
-            if (bestTeam != null) {
-                bestTeam.addMember(p);
-            }
-        }
+        // Assign participants to teams in order, filling each team before starting the next
+        List<Team> teams = RoundRobinFormationStrategy.dealInOrder(participants, teamSize);
 
-        logger.debug("Basic team formation completed - Teams: " + teams.size());
+        logger.debug("Basic team formation completed - Teams: {}", teams.size());
         return teams;  // Return the formed teams
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package teamate;
+
+/**
+ * Snapshot of a running team formation, passed to progress listeners.
+ * Holds the best result found so far.
+ */
+public final class FormationProgress {
+    private final long elapsedMillis;
+    private final int teamsFormed;
+    private final int wellBalanced;
+    private final double objective;
+    private final long moves;
+    private final TeamFormationResult result;
+    private final boolean last;
+
+    FormationProgress(long elapsedMillis, int teamsFormed, int wellBalanced, double objective, long moves,
+                      TeamFormationResult result, boolean last) {
+        this.elapsedMillis = elapsedMillis;
+        this.teamsFormed = teamsFormed;
+        this.wellBalanced = wellBalanced;
+        this.objective = objective;
+        this.moves = moves;
+        this.result = result;
+        this.last = last;
+    }
+
+    // Time since optimization started
+    public long getElapsedMillis() { return elapsedMillis; }
+    // Full teams, well-balanced or not
+    public int getTeamsFormed() { return teamsFormed; }
+    public int getWellBalanced() { return wellBalanced; }
+    // Optimizer cost of the best result; lower is better
+    public double getObjective() { return objective; }
+    public long getMoves() { return moves; }
+    public TeamFormationResult getResult() { return result; }
+    // True for the final snapshot of a run
+    public boolean isLast() { return last; }
+
+    public int getLeftover() {
+        return result.getLeftover().size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1fs - Teams: %d, Well-balanced: %d, Objective: %.1f, Moves: %d",
+                elapsedMillis / 1000.0, teamsFormed, wellBalanced, objective, moves);
+    }
+}
@@ -0,0 +1,44 @@
+package teamate;
+
+/**
+ * Outcome of one run of a formation strategy: the teams, how long the run
+ * took and how good the teams are.
+ */
+public final class FormationReport {
+    private final String strategy;
+    private final TeamFormationResult result;
+    private final long elapsedMillis;
+    private final String details;
+
+    /**
+     * @param details strategy-specific figures for the summary, e.g. optimizer moves; may be null
+     */
+    public FormationReport(String strategy, TeamFormationResult result, long elapsedMillis, String details) {
+        this.strategy = strategy;
+        this.result = result;
+        this.elapsedMillis = elapsedMillis;
+        this.details = details;
+    }
+
+    public String getStrategy() { return strategy; }
+    public TeamFormationResult getResult() { return result; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public String getDetails() { return details; }
+    public int getWellBalanced() { return result.getWellBalancedTeams().size(); }
+    public int getSecondary() { return result.getSecondaryTeams().size(); }
+    public int getLeftover() { return result.getLeftover().size(); }
+
+    // Share of all participants placed in well-balanced teams, 0-1
+    public double getBalancedShare() { return result.getStatistics().getBalancedShare(); }
+
+    // Standard deviation of team average skill; lower means more even teams
+    public double getSkillSpread() { return result.getStatistics().getSkillSpread(); }
+
+    @Override
+    public String toString() {
+        return String.format("%s - Time: %d ms, Well-balanced: %d, Secondary: %d, Leftover: %d, "
+                        + "In balanced teams: %.1f%%, Skill spread: %.2f%s",
+                strategy, elapsedMillis, getWellBalanced(), getSecondary(), getLeftover(),
+                getBalancedShare() * 100, getSkillSpread(), details == null ? "" : ", " + details);
+    }
+}
@@ -0,0 +1,45 @@
+package teamate;
+
+/**
+ * A preferred game, interned so every distinct name has one instance and a dense ordinal.
+ * Ordinals are assigned as names are first seen (normally while loading the CSV)
+ * and can index per-team counter arrays.
+ */
+public final class Game {
+    private static final NameRegistry<Game> REGISTRY = new NameRegistry<>(Game::new);
+
+    private final String name;
+    private final int ordinal;
+
+    private Game(String name, int ordinal) {
+        this.name = name;
+        this.ordinal = ordinal;
+    }
+
+    // The shared instance for the name, or null for a null name
+    public static Game of(String name) {
+        return name == null ? null : REGISTRY.intern(name);
+    }
+
+    // The instance for the name if it has been seen, otherwise null
+    public static Game find(String name) {
+        return REGISTRY.find(name);
+    }
+
+    public static Game byOrdinal(int ordinal) {
+        return REGISTRY.get(ordinal);
+    }
+
+    // Number of distinct names seen so far
+    public static int count() {
+        return REGISTRY.size();
+    }
+
+    public String name() { return name; }
+    public int ordinal() { return ordinal; }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,22 @@
+package teamate;
+
+import java.util.List;
+
+/**
+ * TeamBuilder's greedy formation: leaders first, then thinkers, then balanced
+ * participants by closest average skill; leftovers make secondary teams.
+ */
+public class GreedyFormationStrategy implements TeamFormationStrategy {
+    @Override
+    public String getName() { return TeamFormationStrategies.GREEDY; }
+
+    @Override
+    public String getDescription() { return "Greedy - balanced teams in one pass (default)"; }
+
+    @Override
+    public FormationReport formTeams(List<Participant> participants, int teamSize, TeamConstraints constraints) {
+        long start = System.nanoTime();
+        TeamBuilder builder = new TeamBuilder(participants, teamSize, null, constraints);
+        return new FormationReport(getName(), builder.formAllTeams(), (System.nanoTime() - start) / 1_000_000, null);
+    }
+}
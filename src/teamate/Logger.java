@@ -1,22 +1,47 @@
 package teamate;
 
 import java.io.*;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 /**
  * Enhanced logging system with multiple levels and file output
  */
 public class Logger {
     private static final String LOG_FILE = "teamate_system.log";
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static Logger instance;
     private final boolean writeToFile;
+    // Messages below this level are discarded before any formatting happens
+    private volatile Level minLevel = parseLevel(System.getProperty("teamate.log.level"));
+
+    // Asynchronous mode: callers enqueue, one writer thread keeps the file open
+    private static final int BATCH_SIZE = 512;
+    private static final int SAMPLE_RATE = 10;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private volatile AsyncWriter async;
+    private boolean shutdownHookAdded;
 
     public enum Level {
         DEBUG, INFO, WARN, ERROR
     }
 
+    /**
+     * What callers do when the asynchronous buffer is full.
+     * BLOCK waits for space; DROP discards the message; SAMPLE keeps every
+     * tenth DEBUG/INFO message once the buffer is half full and waits for
+     * space for WARN/ERROR.
+     */
+    public enum OverflowPolicy {
+        BLOCK, DROP, SAMPLE
+    }
+
     private Logger(boolean writeToFile) {
         this.writeToFile = writeToFile;
         // Initialize log file with header
@@ -25,55 +50,170 @@ public class Logger {
         }
     }
 
-    public static Logger getInstance() {
+    // Level named by the teamate.log.level property; DEBUG if unset or unknown
+    static Level parseLevel(String name) {
+        if (name == null || name.trim().isEmpty()) return Level.DEBUG;
+        try {
+            return Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level '" + name + "' in teamate.log.level, using DEBUG");
+            return Level.DEBUG;
+        }
+    }
+
+    public static synchronized Logger getInstance() {
         if (instance == null) {
             instance = new Logger(true); // Enable file logging by default
         }
         return instance;
     }
 
-    public static Logger getInstance(boolean writeToFile) {
+    public static synchronized Logger getInstance(boolean writeToFile) {
         if (instance == null) {
             instance = new Logger(writeToFile);
         }
         return instance;
     }
 
+    /**
+     * Switch to asynchronous logging. Messages go into a bounded ring buffer and a
+     * background thread appends them to the log file in batches. Pending messages
+     * are flushed by stopAsync() or at JVM shutdown.
+     */
+    public synchronized void startAsync(int capacity, OverflowPolicy policy) {
+        if (!writeToFile || async != null) return;
+        AsyncWriter writer = new AsyncWriter(capacity, policy);
+        writer.start();
+        async = writer;
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::stopAsync, "teamate-log-shutdown"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    /**
+     * Drain pending messages, close the file and return to synchronous logging.
+     */
+    public synchronized void stopAsync() {
+        AsyncWriter writer = async;
+        if (writer == null) return;
+        async = null; // new messages are written synchronously from here on
+        writer.shutdown();
+    }
+
+    public boolean isAsync() {
+        return async != null;
+    }
+
+    /**
+     * Block until every message logged so far has reached the log file.
+     */
+    public void flush() {
+        AsyncWriter writer = async;
+        if (writer != null) writer.flush();
+    }
+
+    public void setLevel(Level level) {
+        this.minLevel = level;
+    }
+
+    public Level getLevel() {
+        return minLevel;
+    }
+
+    public boolean isEnabled(Level level) {
+        return writeToFile && level.compareTo(minLevel) >= 0;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
     public void debug(String message) {
         log(Level.DEBUG, message);
     }
 
+    // Lazily built message; the supplier only runs if DEBUG is enabled
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, message.get());
+    }
+
+    // Parameterized message; each {} is replaced by the next argument
+    public void debug(String pattern, Object arg) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, format(pattern, arg));
+    }
+
+    public void debug(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, format(pattern, arg1, arg2));
+    }
+
     public void info(String message) {
         log(Level.INFO, message);
     }
 
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, message.get());
+    }
+
+    public void info(String pattern, Object arg) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, format(pattern, arg));
+    }
+
+    public void info(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, format(pattern, arg1, arg2));
+    }
+
     public void warn(String message) {
         log(Level.WARN, message);
     }
 
+    public void warn(Supplier<String> message) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, message.get());
+    }
+
+    public void warn(String pattern, Object arg) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, format(pattern, arg));
+    }
+
+    public void warn(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, format(pattern, arg1, arg2));
+    }
+
     public void error(String message) {
         log(Level.ERROR, message);
     }
 
+    public void error(Supplier<String> message) {
+        if (isEnabled(Level.ERROR)) log(Level.ERROR, message.get());
+    }
+
     public void error(String message, Exception e) {
         log(Level.ERROR, message + " - " + e.getMessage());
-        if (e != null) {
-            logToFile("Stack Trace: " + getStackTrace(e));
+        if (e != null && isEnabled(Level.ERROR)) {
+            write(Level.ERROR, "Stack Trace: " + getStackTrace(e));
         }
     }
 
     private void log(Level level, String message) {
-        String timestamp = DATE_FORMAT.format(new Date());
+        if (!isEnabled(level)) return;
+        String timestamp = LocalDateTime.now().format(DATE_FORMAT);
         String logMessage = String.format("[%s] %s - %s", level, timestamp, message);
 
         // REMOVED ALL CONSOLE OUTPUT
         // File output only
         if (writeToFile) {
-            logToFile(logMessage);
+            write(level, logMessage);
+        }
+    }
+
+    private void write(Level level, String line) {
+        AsyncWriter writer = async;
+        if (writer == null || !writer.enqueue(level, line)) {
+            logToFile(line);
         }
     }
 
-    private void logToFile(String message) {
+    private synchronized void logToFile(String message) {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(LOG_FILE, true))) {
             writer.write(message);
             writer.newLine();
@@ -82,10 +222,187 @@ public class Logger {
         }
     }
 
+    // Replaces each {} in the pattern with the next argument
+    static String format(String pattern, Object... args) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16 * args.length);
+        int argIndex = 0;
+        int from = 0;
+        int at;
+        while (argIndex < args.length && (at = pattern.indexOf("{}", from)) >= 0) {
+            sb.append(pattern, from, at).append(args[argIndex++]);
+            from = at + 2;
+        }
+        return sb.append(pattern, from, pattern.length()).toString();
+    }
+
     private String getStackTrace(Exception e) {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
         e.printStackTrace(pw);
         return sw.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Background writer draining the ring buffer into the open log file.
+     */
+    private final class AsyncWriter implements Runnable {
+        private final RingBuffer buffer;
+        private final OverflowPolicy policy;
+        private final Thread thread;
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong sampled = new AtomicLong();
+        private final AtomicLong flushedThrough = new AtomicLong();
+        private volatile boolean running = true;
+
+        AsyncWriter(int capacity, OverflowPolicy policy) {
+            this.buffer = new RingBuffer(capacity);
+            this.policy = policy;
+            this.thread = new Thread(this, "teamate-log-writer");
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        // Returns false only if the writer has stopped and the caller should write directly
+        boolean enqueue(Level level, String line) {
+            if (!running) return false;
+            boolean important = level == Level.WARN || level == Level.ERROR;
+            if (policy == OverflowPolicy.SAMPLE && !important
+                    && buffer.size() > buffer.capacity() / 2
+                    && sampled.incrementAndGet() % SAMPLE_RATE != 0) {
+                dropped.incrementAndGet();
+                return true;
+            }
+
+            while (!buffer.offer(line)) {
+                if (policy == OverflowPolicy.DROP || (policy == OverflowPolicy.SAMPLE && !important)) {
+                    dropped.incrementAndGet();
+                    return true;
+                }
+                if (!running) return false;
+                LockSupport.unpark(thread);
+                Thread.onSpinWait();
+            }
+            return true;
+        }
+
+        void flush() {
+            long target = buffer.published();
+            while (flushedThrough.get() < target && thread.isAlive()) {
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+            }
+        }
+
+        void shutdown() {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Anything enqueued while the writer was exiting
+            String line;
+            while ((line = buffer.poll()) != null) logToFile(line);
+        }
+
+        @Override
+        public void run() {
+            try (BufferedWriter out = new BufferedWriter(new FileWriter(LOG_FILE, true))) {
+                while (true) {
+                    int written = 0;
+                    String line;
+                    while (written < BATCH_SIZE && (line = buffer.poll()) != null) {
+                        out.write(line);
+                        out.newLine();
+                        written++;
+                    }
+
+                    long lost = dropped.getAndSet(0);
+                    if (lost > 0) {
+                        out.write(String.format("[%s] %s - Logger dropped %d messages (buffer full)",
+                                Level.WARN, LocalDateTime.now().format(DATE_FORMAT), lost));
+                        out.newLine();
+                    }
+
+                    if (written > 0 || lost > 0) {
+                        out.flush();
+                        flushedThrough.set(buffer.consumed());
+                        continue;
+                    }
+                    flushedThrough.set(buffer.consumed());
+                    if (!running) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to write to log file: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer ring buffer.
+     * Producers claim slots with a CAS on the tail; each slot carries a sequence
+     * number so the consumer knows when the message in it is published.
+     */
+    private static final class RingBuffer {
+        private final int mask;
+        private final AtomicReferenceArray<String> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            this.mask = capacity - 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) sequences.set(i, i);
+        }
+
+        int capacity() { return mask + 1; }
+
+        int size() { return (int) Math.max(0, tail.get() - head); }
+
+        // Number of messages claimed by producers so far
+        long published() { return tail.get(); }
+
+        // Number of messages taken by the consumer so far
+        long consumed() { return head; }
+
+        boolean offer(String message) {
+            long pos = tail.get();
+            while (true) {
+                int index = (int) (pos & mask);
+                long diff = sequences.get(index) - pos;
+                if (diff == 0) {
+                    if (tail.compareAndSet(pos, pos + 1)) {
+                        slots.set(index, message);
+                        sequences.set(index, pos + 1);
+                        return true;
+                    }
+                    pos = tail.get();
+                } else if (diff < 0) {
+                    return false; // full
+                } else {
+                    pos = tail.get();
+                }
+            }
+        }
+
+        // Single consumer only
+        String poll() {
+            long pos = head;
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) return null; // empty or not yet published
+            String message = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, pos + mask + 1);
+            head = pos + 1;
+            return message;
+        }
+    }
+}
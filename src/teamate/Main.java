@@ -3,6 +3,7 @@ package teamate;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -10,6 +11,7 @@ public class Main {
     private static final ErrorHandler EH = new ErrorHandler();
     private static final Logger logger = Logger.getInstance();
     private static final String DEFAULT_INPUT = "C:/Users/User/Downloads/New folder/teamate_coursework_full/participants_sample.csv";
+    private static final int SURVEY_SERVER_PORT = 5050;
     private static List<Team> teams = new ArrayList<>();
     private static List<Participant> participants = Collections.synchronizedList(new ArrayList<>());
 
@@ -18,18 +20,43 @@ public class Main {
     private static List<Team> secondaryTeams = new ArrayList<>();
     private static List<Participant> unassignedParticipants = new ArrayList<>();
     private static Integer teamSize = null;
+    // Balance rules applied by every formation strategy and the roster
+    private static TeamConstraints constraints = TeamConstraints.DEFAULT;
+
+    // Anytime formation running in the background, if any
+    private static final long FORMATION_SEED = 42L;
+    private static ExecutorService formationExecutor;
+    private static AnytimeFormation runningFormation;
+    // Formed teams, kept up to date as participants are edited; only used on the menu thread
+    private static TeamRoster roster;
+    // Emails and IDs of the loaded participants, shared with surveys on the same CSV
+    private static ParticipantRegistry registry = new ParticipantRegistry();
 
     public static void main(String[] args) {
+        logger.startAsync(8192, Logger.OverflowPolicy.BLOCK);
         logger.info("TeamMate System starting...");
 
         try {
             Scanner sc = new Scanner(System.in);
             FileManager fm = new FileManager();
-            PersonalityClassifier pc = new PersonalityClassifier();
             SurveyManager surveyManager = new SurveyManager();
 
             logger.debug("Initialized core components");
 
+            // Finish survey submissions an earlier run logged but may not have written to the CSV
+            try {
+                SubmissionLog.recover(DEFAULT_INPUT);
+            } catch (IOException e) {
+                logger.error("Failed to replay survey submission log", e);
+            }
+
+            // Usage: Main --survey-server [port] [csv file]
+            if (args.length > 0 && args[0].equals("--survey-server")) {
+                int port = args.length > 1 ? Integer.parseInt(args[1]) : SURVEY_SERVER_PORT;
+                runSurveyServer(sc, port, args.length > 2 ? args[2] : DEFAULT_INPUT);
+                return;
+            }
+
             System.out.println("=== TeamMate System ===");
             System.out.println("Are you a:");
             System.out.println("1. Organizer");
@@ -49,7 +76,7 @@ public class Main {
             if (userRole == 1) {
                 // Organizer Flow - using TeamBuilder for better matching
                 TeamBuilder teamBuilder = new TeamBuilder(participants, 4);
-                handleOrganizerFlow(sc, fm, participants, pc, teamBuilder);
+                handleOrganizerFlow(sc, fm, participants, teamBuilder);
             } else if (userRole == 2) {
                 // Participant Flow (Start survey)
                 handleParticipantSurvey(surveyManager, participants, sc);
@@ -65,6 +92,8 @@ public class Main {
         } catch (Exception e) {
             logger.error("Fatal error in main method", e);
             EH.showError("System encountered a fatal error: " + e.getMessage());
+        } finally {
+            logger.stopAsync();
         }
     }
 
@@ -94,11 +123,15 @@ public class Main {
 
     // Enhanced Organizer Flow with better team formation
     private static void handleOrganizerFlow(Scanner sc, FileManager fm, List<Participant> participants,
-                                            PersonalityClassifier pc, TeamBuilder teamBuilder) {
+                                            TeamBuilder teamBuilder) {
         logger.info("Organizer flow started");
 
         while (true) {
+            collectFinishedFormation();
             System.out.println("\n=== Organizer Menu ===");
+            if (runningFormation != null) {
+                System.out.println("⏳ Team formation running: " + describeProgress(runningFormation));
+            }
             System.out.println("1. Load participants from CSV");
             System.out.println("2. View participants");
             System.out.println("3. Edit participant details");
@@ -106,9 +139,10 @@ public class Main {
             System.out.println("5. View all teams");
             System.out.println("6. View unassigned participants");
             System.out.println("7. Save teams to CSV");
-            System.out.println("8. Exit");
+            System.out.println("8. Find a participant's team");
+            System.out.println("9. Exit");
 
-            int option = readIntInput(sc, "\nEnter option: ", 1, 8);  // Updated to 8 options
+            int option = readIntInput(sc, "\nEnter option: ", 1, 9);  // Updated to 9 options
 
             switch (option) {
                 case 1:
@@ -121,7 +155,8 @@ public class Main {
                     } else {
                         logger.info("Using custom CSV path: " + inputPath);
                     }
-                    loadParticipantsFromCSV(fm, inputPath, participants, pc);
+                    FileManager.ParseMode parseMode = selectParseMode(sc);
+                    loadParticipantsFromCSV(fm, inputPath, participants, parseMode);
                     break;
                 case 2:
                     logger.debug("Organizer selected: View participants");
@@ -148,6 +183,11 @@ public class Main {
                     handleSaveTeamsToCSV(sc, fm);
                     break;
                 case 8:
+                    logger.debug("Organizer selected: Find a participant's team");
+                    findParticipantTeam(sc);
+                    break;
+                case 9:
+                    if (runningFormation != null) runningFormation.cancel();
                     logger.info("Organizer exiting application");
                     System.out.println("Exiting...");
                     return;
@@ -157,6 +197,10 @@ public class Main {
 
     // New method to handle the combined team formation process
     private static void handleFormTeams(Scanner sc, List<Participant> participants) {
+        if (runningFormation != null) {
+            handleRunningFormation(sc);
+            return;
+        }
         logger.info("Starting combined team formation process");
 
         // Check if participants are loaded
@@ -190,13 +234,138 @@ public class Main {
         logger.info("Team size set to: " + size);
         System.out.println("✅ Team size set to: " + size);
 
-        // Step 2: Form teams with the specified size
-        logger.debug("Starting team formation with size: " + teamSize);
-        formEnhancedTeams(participants, teamSize);
+        // Step 2: Pick a strategy; optimizing runs in the background with a time limit
+        TeamFormationStrategy strategy = selectStrategy(sc);
+        logger.debug("Starting team formation with size: {}, strategy: {}", teamSize, strategy.getName());
+        if (strategy instanceof OptimizingFormationStrategy) {
+            long defaultSeconds = ((OptimizingFormationStrategy) strategy).getBudget().getSeconds();
+            int seconds = readOptionalSeconds(sc,
+                    "Time limit in seconds (Enter = " + defaultSeconds + "): ");
+            startAnytimeFormation(participants, teamSize, seconds > 0 ? seconds : (int) defaultSeconds);
+        } else {
+            formEnhancedTeams(participants, teamSize, strategy);
+        }
     }
 
-    // Enhanced team formation with proper matching strategy
-    private static void formEnhancedTeams(List<Participant> participants, int teamSize) {
+    // Ask which formation strategy to use (Enter = greedy)
+    private static TeamFormationStrategy selectStrategy(Scanner sc) {
+        List<TeamFormationStrategy> strategies = TeamFormationStrategies.all();
+        while (true) {
+            System.out.println("Select formation strategy (Enter = " + TeamFormationStrategies.GREEDY + "):");
+            for (int i = 0; i < strategies.size(); i++) {
+                System.out.println((i + 1) + ". " + strategies.get(i).getDescription());
+            }
+            System.out.print("Enter option: ");
+            String input = sc.nextLine().trim();
+            if (input.isEmpty()) return TeamFormationStrategies.find(TeamFormationStrategies.GREEDY);
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice >= 1 && choice <= strategies.size()) return strategies.get(choice - 1);
+            } catch (NumberFormatException ignored) {
+            }
+            System.out.println("Invalid choice! Please enter a number between 1 and " + strategies.size() + ".");
+        }
+    }
+
+    // Reads a positive number of seconds, or returns 0 if the user just presses Enter
+    private static int readOptionalSeconds(Scanner sc, String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            String line = sc.nextLine().trim();
+            if (line.isEmpty()) return 0;
+            try {
+                int seconds = Integer.parseInt(line);
+                if (seconds > 0) return seconds;
+            } catch (NumberFormatException ignored) {
+            }
+            System.out.println("❌ Please enter a positive number of seconds, or press Enter.");
+        }
+    }
+
+    /**
+     * Starts greedy formation plus optimization on a background thread so the menu stays usable.
+     * Progress shows above the menu; option 4 offers to cancel and keep the best teams so far.
+     */
+    private static void startAnytimeFormation(List<Participant> participants, int teamSize, int seconds) {
+        if (participants.isEmpty()) {
+            System.out.println("No participants loaded. Please load participants first.");
+            return;
+        }
+        ensureClassified(participants);
+        if (formationExecutor == null) {
+            formationExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "teamate-formation");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        logger.info("Starting anytime team formation - Participants: " + participants.size()
+                + ", Budget: " + seconds + "s");
+        TeamBuilder builder = new TeamBuilder(participants, teamSize, null, constraints);
+        runningFormation = builder.formTeamsAnytime(Duration.ofSeconds(seconds), FORMATION_SEED, formationExecutor,
+                progress -> {
+                    if (progress.isLast()) {
+                        System.out.println("\n✅ Background team formation finished (" + progress
+                                + "). Results are applied at the next menu.");
+                    }
+                });
+        System.out.println("⏳ Forming teams in the background for up to " + seconds + "s.");
+        System.out.println("Use option 4 again to check progress or cancel.");
+    }
+
+    // Shows progress of the running formation and offers to cancel it
+    private static void handleRunningFormation(Scanner sc) {
+        collectFinishedFormation();
+        if (runningFormation == null) return;
+        System.out.println("⏳ Team formation running: " + describeProgress(runningFormation));
+        System.out.print("Cancel and keep the best teams found so far? (y/n): ");
+        if (sc.nextLine().trim().equalsIgnoreCase("y")) {
+            logger.info("Organizer cancelled anytime team formation");
+            runningFormation.cancel();
+            try {
+                runningFormation.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ignored) {
+                // reported by collectFinishedFormation
+            }
+            collectFinishedFormation();
+        }
+    }
+
+    private static String describeProgress(AnytimeFormation formation) {
+        FormationProgress latest = formation.getLatest();
+        return latest == null
+                ? String.format("%.1fs - running greedy pass", formation.getElapsedMillis() / 1000.0)
+                : latest.toString();
+    }
+
+    // Applies the result of a finished background formation on the menu thread
+    private static void collectFinishedFormation() {
+        AnytimeFormation formation = runningFormation;
+        if (formation == null || !formation.isDone()) return;
+        runningFormation = null;
+        try {
+            TeamFormationResult result = formation.await();
+            if (result == null) {
+                System.out.println("Team formation was cancelled before any teams were formed.");
+                return;
+            }
+            applyFormationResult(result);
+            System.out.println(new FormationReport(TeamFormationStrategies.OPTIMIZING, result,
+                    formation.getElapsedMillis(), formation.isCancelled() ? "cancelled" : null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Anytime team formation failed - " + e.getCause());
+            System.out.println("❌ Error during team formation: " + e.getCause().getMessage());
+        }
+    }
+
+    // Forms teams with the chosen strategy and reports its timing and quality
+    private static void formEnhancedTeams(List<Participant> participants, int teamSize,
+                                          TeamFormationStrategy strategy) {
         logger.debug("Starting enhanced team formation process");
 
         if (participants.isEmpty()) {
@@ -209,43 +378,18 @@ public class Main {
             logger.info("Forming balanced teams for " + participants.size() + " participants");
 
             // Log participant statistics
-            long validParticipants = participants.stream().filter(Participant::isValid).count();
-            long eligibleParticipants = participants.stream().filter(Participant::isEligibleForTeams).count();
-            logger.debug(String.format("Participant stats - Total: %d, Valid: %d, Eligible: %d",
-                    participants.size(), validParticipants, eligibleParticipants));
+            logger.debug(() -> String.format("Participant stats - Total: %d, Valid: %d, Eligible: %d",
+                    participants.size(),
+                    participants.stream().filter(Participant::isValid).count(),
+                    participants.stream().filter(Participant::isEligibleForTeams).count()));
 
             // Ensure all participants have proper personality classification
-            for (Participant p : participants) {
-                if (p.getPersonalityType() == null || p.getPersonalityType().isEmpty()) {
-                    String personalityType = p.classifyPersonality(p.getPersonalityScore());
-                    p.setPersonalityType(personalityType);
-                }
-            }
-
-            // Use EnhancedTeamBuilder for better team formation
-            TeamBuilder builder = new TeamBuilder(participants, teamSize);
-            Map<String, Object> result = builder.formAllTeams();
-
-            // Store results
-            wellBalancedTeams = (List<Team>) result.get("wellBalanced");
-            secondaryTeams = (List<Team>) result.get("secondary");
-            unassignedParticipants = (List<Participant>) result.get("leftover");
+            ensureClassified(participants);
 
-            // Combine all teams for backward compatibility
-            teams = new ArrayList<>();
-            teams.addAll(wellBalancedTeams);
-            teams.addAll(secondaryTeams);
-
-            logger.info(String.format(
-                    "Team formation completed - Well-balanced: %d, Secondary: %d, Unassigned: %d",
-                    wellBalancedTeams.size(), secondaryTeams.size(), unassignedParticipants.size()
-            ));
-
-            System.out.println("\n🎉 Enhanced Team Formation Completed!");
-            System.out.println("Well-Balanced Teams: " + wellBalancedTeams.size());
-            System.out.println("Secondary Teams: " + secondaryTeams.size());
-            System.out.println("Unassigned Participants: " + unassignedParticipants.size());
-            System.out.println("Total Teams Formed: " + teams.size());
+            FormationReport report = strategy.formTeams(participants, teamSize, constraints);
+            logger.info("Formation report: " + report);
+            applyFormationResult(report.getResult());
+            System.out.println(report);
 
         } catch (Exception e) {
             logger.error("Team formation failed", e);
@@ -254,6 +398,58 @@ public class Main {
         }
     }
 
+    private static void ensureClassified(List<Participant> participants) {
+        for (Participant p : participants) {
+            if (p.getPersonalityType() == null || p.getPersonalityType().isEmpty()) {
+                p.setPersonality(PersonalityClassifier.standard().classifyType(p.getPersonalityScore()));
+            }
+        }
+    }
+
+    // Stores a formation result for the view and save options and prints a summary
+    private static void applyFormationResult(TeamFormationResult result) {
+        // Store results
+        roster = new TeamRoster(result, teamSize, constraints);
+        refreshTeamsFromRoster();
+
+        logger.info(String.format(
+                "Team formation completed - Well-balanced: %d, Secondary: %d, Unassigned: %d",
+                wellBalancedTeams.size(), secondaryTeams.size(), unassignedParticipants.size()
+        ));
+
+        System.out.println("\n🎉 Enhanced Team Formation Completed!");
+        System.out.println("Well-Balanced Teams: " + wellBalancedTeams.size());
+        System.out.println("Secondary Teams: " + secondaryTeams.size());
+        System.out.println("Unassigned Participants: " + unassignedParticipants.size());
+        System.out.println("Total Teams Formed: " + teams.size());
+    }
+
+    // Copies the roster's current teams into the lists used by the view and save options
+    private static void refreshTeamsFromRoster() {
+        TeamFormationResult current = roster.toResult();
+        wellBalancedTeams = current.getWellBalancedTeams();
+        secondaryTeams = current.getSecondaryTeams();
+        unassignedParticipants = current.getLeftover();
+
+        // Combine all teams for backward compatibility
+        teams = current.getAllTeams();
+    }
+
+    // Reports how an added or edited participant was fitted into the existing teams
+    private static void reportRosterUpdate(Participant p, TeamRoster.Outcome outcome) {
+        Team team = roster.findTeam(p.getId());
+        String where = team == null ? "unassigned" : "team " + team.getTeamID();
+        switch (outcome) {
+            case JOINED_TEAM -> System.out.println("Participant joined " + where + ".");
+            case FORMED_TEAM -> System.out.println("A new team was formed; participant is in " + where + ".");
+            case UNASSIGNED -> System.out.println("Participant is waiting in the unassigned pool.");
+            case UNCHANGED -> System.out.println("Teams unchanged; participant is in " + where + ".");
+            case TEAM_REPAIRED -> System.out.println("Team rebalanced with a swap; participant is now " + where + ".");
+            case TEAM_DEMOTED -> System.out.println("Team " + team.getTeamID() + " no longer meets the balance rules and is now a secondary team.");
+            case TEAM_PROMOTED -> System.out.println("Team " + team.getTeamID() + " now meets the balance rules.");
+        }
+    }
+
     // Set team size (kept for backward compatibility if needed elsewhere)
     private static void setTeamSize(Scanner sc) {
         System.out.print("Enter team size: ");
@@ -309,6 +505,32 @@ public class Main {
         System.out.println("Total Teams: " + teams.size());
     }
 
+    // Help-desk lookup: which team is a participant in? Uses the roster's index, no scan
+    private static void findParticipantTeam(Scanner sc) {
+        if (roster == null) {
+            System.out.println("❌ No teams formed yet. Run team formation first (Option 4).");
+            return;
+        }
+        System.out.print("Enter participant ID (Enter = back): ");
+        String id = sc.nextLine().trim();
+        while (!id.isEmpty()) {
+            Team team = roster.findTeam(id);
+            if (team != null) {
+                String kind = roster.isWellBalanced(team) ? "well-balanced" : "secondary";
+                System.out.println("✅ " + id + " is in " + kind + " team " + team.getTeamID() + ":");
+                for (Participant p : team.getMembers()) {
+                    System.out.println("  - " + p);
+                }
+            } else if (roster.findParticipant(id) != null) {
+                System.out.println(id + " is not in a team yet (unassigned).");
+            } else {
+                System.out.println("❌ No participant with ID " + id + " in the formed teams.");
+            }
+            System.out.print("Enter another participant ID (Enter = back): ");
+            id = sc.nextLine().trim();
+        }
+    }
+
     // Save all teams to CSV (enhanced)
     private static void saveAllTeamsToCSV(FileManager fm, String filename) {
         // Double-check that teams exist before saving
@@ -335,6 +557,23 @@ public class Main {
     }
 
 
+    // Serve surveys over TCP until Enter is pressed
+    private static void runSurveyServer(Scanner sc, int port, String csvPath) {
+        try (SurveyIntakeServer server = new SurveyIntakeServer(csvPath, port)) {
+            server.start();
+            System.out.println("Survey intake server listening on port " + server.getPort() + " for " + csvPath);
+            System.out.println("Press Enter to stop.");
+            if (sc.hasNextLine()) sc.nextLine();
+            else Thread.currentThread().join(); // no console: run until killed
+            System.out.println(server);
+        } catch (IOException e) {
+            logger.error("Survey intake server failed", e);
+            EH.showError("Survey intake server failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // Handle participant survey flow
     private static void handleParticipantSurvey(SurveyManager surveyManager, List<Participant> participants, Scanner sc) {
         logger.info("Starting participant survey flow");
@@ -415,18 +654,8 @@ public class Main {
             }
 
             // Check if email already exists (excluding the current participant)
-            boolean isDuplicate = false;
-            String normalizedNewEmail = newEmail.trim().toLowerCase();
-
-            for (Participant p : participants) {
-                if (p != participantToEdit && p.getEmail() != null) {
-                    String normalizedExistingEmail = p.getEmail().trim().toLowerCase();
-                    if (normalizedExistingEmail.equals(normalizedNewEmail)) {
-                        isDuplicate = true;
-                        break;
-                    }
-                }
-            }
+            String oldEmail = participantToEdit.getEmail();
+            boolean isDuplicate = !registry.changeEmail(participantToEdit.getId(), oldEmail, newEmail);
 
             if (isDuplicate) {
                 System.out.println("❌ This email is already registered by another participant. Please use a different email.");
@@ -459,15 +688,21 @@ public class Main {
             logger.debug("Updated skill level for participant: " + participantToEdit.getId());
         }
 
-        // Recalculate personality type based on updated values
-        int totalScore = participantToEdit.computeTotalFromQuestions();
-        String personalityType = participantToEdit.classifyPersonality(totalScore);
-        participantToEdit.setPersonalityType(personalityType);
+        // Recalculate personality type from the stored 0-100 score
+        participantToEdit.setPersonality(
+                PersonalityClassifier.standard().classifyType(participantToEdit.getPersonalityScore()));
 
         // Save updated participant data back to CSV
         saveParticipantsToCSV(participants);
         logger.info("Participant details updated successfully: " + participantToEdit.getId());
         System.out.println("Participant details updated successfully.");
+
+        // Repair only the affected team instead of re-forming everything
+        if (roster != null) {
+            TeamRoster.Outcome outcome = roster.updateParticipant(participantToEdit);
+            refreshTeamsFromRoster();
+            reportRosterUpdate(participantToEdit, outcome);
+        }
     }
 
     private static String selectInterest(Scanner sc) {
@@ -568,90 +803,70 @@ public class Main {
         }
     }
 
-    // Load participants from CSV (with concurrency for parallel loading)
-    private static void loadParticipantsFromCSV(FileManager fm, String inputPath, List<Participant> participants, PersonalityClassifier pc) {
-        logger.info("Loading participants from CSV: " + inputPath);
-        ExecutorService executorService = Executors.newFixedThreadPool(10);
+    // Ask which CSV parser to use (Enter = standard)
+    private static FileManager.ParseMode selectParseMode(Scanner sc) {
+        while (true) {
+            System.out.println("Select import mode (Enter = standard):");
+            System.out.println("1. Standard");
+            System.out.println("2. Memory-mapped (large files)");
+            System.out.println("3. Parallel (very large files, uses all cores)");
+            System.out.println("4. Binary store (converts the CSV once, then loads without parsing)");
+            System.out.print("Enter option: ");
+            String input = sc.nextLine().trim();
+
+            switch (input) {
+                case "":
+                case "1": return FileManager.ParseMode.STANDARD;
+                case "2": return FileManager.ParseMode.MAPPED;
+                case "3": return FileManager.ParseMode.PARALLEL;
+                case "4": return FileManager.ParseMode.STORE;
+                default: System.out.println("Invalid choice! Please enter 1, 2, 3 or 4.");
+            }
+        }
+    }
+
+    /*
+     * Load participants from CSV. Each row is parsed, clamped, classified and validated
+     * once as it is read (PARALLEL does this per chunk), so nothing walks the list again
+     * afterwards. The time of each stage is reported.
+     */
+    private static void loadParticipantsFromCSV(FileManager fm, String inputPath, List<Participant> participants,
+                                                FileManager.ParseMode parseMode) {
+        logger.info("Loading participants from CSV: " + inputPath + " (" + parseMode + ")");
 
         try {
-            List<Participant> loaded = fm.readParticipantsFromCSV(inputPath);
+            // STAGE 1: read, parse, clamp, classify and validate
+            long start = System.nanoTime();
+            List<Participant> loaded = fm.readParticipantsFromCSV(inputPath, parseMode);
+            long parsed = System.nanoTime();
+
             if (loaded.isEmpty()) {
                 logger.warn("CSV file loaded but no participants found: " + inputPath);
                 EH.showError("No participants loaded. Check CSV.");
                 return;
             }
 
-            logger.debug("Raw CSV load completed, found " + loaded.size() + " entries");
-            participants.clear();
-
-            // STEP 1: Basic processing with threads
-            for (Participant p : loaded) {
-                executorService.submit(() -> {
-                    try {
-                        int score = p.getPersonalityScore();
-                        if (score < 0) score = 0;
-                        if (score > 100) score = 100;
-                        p.setPersonalityType(pc.classify(score));
-                        logger.debug("Basic processing: " + p.getId());
-                    } catch (Exception e) {
-                        logger.error("Error in basic processing: " + p.getId(), e);
-                    }
-                });
-            }
-
-            executorService.shutdown();
-            executorService.awaitTermination(30, TimeUnit.SECONDS);
+            // STAGE 2: index emails and IDs for duplicate checks
+            registry = ParticipantRegistry.forLoaded(inputPath, loaded);
+            long indexed = System.nanoTime();
 
-            // STEP 2: Advanced processing with SurveyProcessorThread
-            logger.info("Starting advanced personality classification...");
-            SurveyProcessorThread processor = new SurveyProcessorThread(loaded);
-            processor.start();
-            processor.join();
-
-            // Add all to main list
+            // STAGE 3: replace the main list
             synchronized(participants) {
+                participants.clear();
                 participants.addAll(loaded);
             }
+            long published = System.nanoTime();
 
-            logger.info("Successfully loaded " + loaded.size() + " participants");
+            String stages = String.format("Load stages - parse/classify: %d ms, index: %d ms, publish: %d ms, total: %d ms",
+                    (parsed - start) / 1_000_000, (indexed - parsed) / 1_000_000,
+                    (published - indexed) / 1_000_000, (published - start) / 1_000_000);
+            logger.info("Successfully loaded " + loaded.size() + " participants. " + stages);
             EH.showInfo("Loaded and classified " + loaded.size() + " participants.");
+            System.out.println(stages);
 
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
             logger.error("Error loading CSV", e);
             EH.showError("Failed to load CSV: " + e.getMessage());
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-        }
-    }
-
-    // Runnable task to process each participant
-    static class LoadParticipantTask implements Runnable {
-        private final Participant participant;
-        private final List<Participant> participants;
-        private final PersonalityClassifier pc;
-        private final Logger logger = Logger.getInstance();
-
-        public LoadParticipantTask(Participant participant, List<Participant> participants, PersonalityClassifier pc) {
-            this.participant = participant;
-            this.participants = participants;
-            this.pc = pc;
-        }
-
-        @Override
-        public void run() {
-            try {
-                int score = participant.getPersonalityScore();
-                if (score < 0) score = 0;
-                if (score > 100) score = 100;
-                participant.setPersonalityType(pc.classify(score));
-                synchronized (participants) {
-                    participants.add(participant);
-                }
-                logger.debug("Processed participant: " + participant.getId());
-            } catch (Exception e) {
-                logger.error("Error processing participant: " + participant.getId(), e);
-            }
         }
     }
 
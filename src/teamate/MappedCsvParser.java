@@ -0,0 +1,307 @@
+package teamate;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Memory-mapped parser for participant CSV files.
+ * Scans the mapped bytes directly: column positions come from the header once,
+ * integer columns are decoded in place and only text columns become Strings.
+ * Produces the same participants and line diagnostics as the line-based reader.
+ */
+class MappedCsvParser {
+    // Files larger than this are mapped in windows split on line boundaries
+    private static final long WINDOW_SIZE = 1L << 30;
+    // Smallest byte range worth handing to a worker in parallel mode
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final FileManager fm;
+    private final Logger logger = Logger.getInstance();
+
+    MappedCsvParser(FileManager fm) {
+        this.fm = fm;
+    }
+
+    /**
+     * Line and success counts for a parsed range.
+     */
+    static final class RangeStats {
+        int lines;
+        int success;
+    }
+
+    List<Participant> parse(String path) throws IOException {
+        return parse(path, null);
+    }
+
+    /**
+     * Parses the file, splitting each mapped window into newline-aligned chunks
+     * parsed on the given pool. Pass null to parse on the calling thread.
+     * Results are merged in file order either way.
+     */
+    List<Participant> parse(String path, ForkJoinPool pool) throws IOException {
+        List<Participant> list = new ArrayList<>();
+        parse(path, pool, list::add);
+        return list;
+    }
+
+    /**
+     * Parses the file and hands each participant to the sink in file order.
+     * In parallel mode each window's chunks are parsed first, then passed on.
+     */
+    void parse(String path, ForkJoinPool pool, Consumer<Participant> sink) throws IOException {
+        logger.debug("Reading participants from mapped CSV: " + path + (pool != null ? " (parallel)" : ""));
+
+        Path p = Paths.get(path);
+        if (!Files.exists(p)) {
+            logger.error("CSV file not found: " + path);
+            throw new FileNotFoundException("CSV file not found: " + path);
+        }
+
+        RangeStats stats = new RangeStats();
+
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size == 0) {
+                logger.warn("CSV file is empty: " + path);
+                return;
+            }
+
+            long pos = 0;
+            FileManager.CsvColumns columns = null;
+            while (pos < size) {
+                MappedByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW_SIZE, size - pos));
+                int end = window.limit();
+                if (pos + end < size) {
+                    end = lastLineEnd(window, end);
+                    if (end == 0) throw new IOException("CSV line longer than " + WINDOW_SIZE + " bytes at offset " + pos);
+                }
+
+                int start = 0;
+                if (columns == null) {
+                    int headerEnd = lineEnd(window, 0, end);
+                    String header = new String(bytes(window, 0, trimCarriageReturn(window, 0, headerEnd)),
+                            StandardCharsets.UTF_8);
+                    logger.debug("CSV header: {}", header);
+                    columns = new FileManager.CsvColumns(header.split(",", -1));
+                    start = Math.min(headerEnd + 1, end);
+                }
+
+                if (pool != null) {
+                    parseRangeInParallel(window, start, end, columns, 2 + stats.lines, sink, stats, pool);
+                } else {
+                    parseRange(window, start, end, columns, 2 + stats.lines, sink, stats);
+                }
+                pos += end;
+            }
+        }
+
+        logger.info(String.format("CSV parsing completed - Lines: %d, Success: %d, Failed: %d",
+                stats.lines, stats.success, stats.lines - stats.success));
+    }
+
+    /**
+     * Parses the lines in [from, to) of the buffer, which must start and end on line
+     * boundaries. firstLine is the file line number of the first line in the range.
+     */
+    void parseRange(ByteBuffer buf, int from, int to, FileManager.CsvColumns columns, int firstLine,
+                    Consumer<Participant> sink, RangeStats stats) {
+        int maxColumn = Math.max(Math.max(Math.max(columns.id, columns.name), Math.max(columns.email, columns.interest)),
+                Math.max(Math.max(columns.skill, columns.role), Math.max(Math.max(columns.q1, columns.q2),
+                        Math.max(Math.max(columns.q3, columns.q4), Math.max(columns.q5, columns.score)))));
+        int[] starts = new int[maxColumn + 1];
+        int[] ends = new int[maxColumn + 1];
+        byte[] scratch = new byte[256];
+
+        int ln = firstLine;
+        int pos = from;
+        while (pos < to) {
+            int lineEnd = lineEnd(buf, pos, to);
+            int contentEnd = trimCarriageReturn(buf, pos, lineEnd);
+            stats.lines++;
+
+            if (!isBlank(buf, pos, contentEnd)) {
+                // Locate the fields we need; missing trailing fields read as empty
+                int field = 0;
+                int fieldStart = pos;
+                for (int i = pos; i <= contentEnd && field <= maxColumn; i++) {
+                    if (i == contentEnd || buf.get(i) == ',') {
+                        starts[field] = fieldStart;
+                        ends[field] = i;
+                        field++;
+                        fieldStart = i + 1;
+                    }
+                }
+                for (int f = field; f <= maxColumn; f++) {
+                    starts[f] = 0;
+                    ends[f] = 0;
+                }
+
+                long skill = parseInt(buf, starts, ends, columns.skill);
+                Participant participant = fm.createParticipant(
+                        text(buf, starts, ends, columns.id, scratch),
+                        text(buf, starts, ends, columns.name, scratch),
+                        text(buf, starts, ends, columns.email, scratch),
+                        text(buf, starts, ends, columns.interest, scratch),
+                        skill == NO_VALUE ? 0 : (int) skill,
+                        text(buf, starts, ends, columns.role, scratch),
+                        boxed(parseInt(buf, starts, ends, columns.q1)),
+                        boxed(parseInt(buf, starts, ends, columns.q2)),
+                        boxed(parseInt(buf, starts, ends, columns.q3)),
+                        boxed(parseInt(buf, starts, ends, columns.q4)),
+                        boxed(parseInt(buf, starts, ends, columns.q5)),
+                        boxed(parseInt(buf, starts, ends, columns.score)),
+                        ln);
+                if (participant != null) {
+                    stats.success++;
+                    sink.accept(participant);
+                }
+            }
+
+            ln++;
+            pos = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Splits [from, to) into newline-aligned chunks and parses them concurrently.
+     * Lines are counted per chunk first so every chunk knows its starting line
+     * number, keeping "Skipping invalid line N" diagnostics exact.
+     */
+    private void parseRangeInParallel(ByteBuffer buf, int from, int to, FileManager.CsvColumns columns, int firstLine,
+                                      Consumer<Participant> sink, RangeStats stats, ForkJoinPool pool) {
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * 4, (to - from) / MIN_CHUNK_SIZE));
+        int[] bounds = new int[chunkCount + 1];
+        bounds[0] = from;
+        for (int i = 1; i < chunkCount; i++) {
+            int target = Math.max(bounds[i - 1], from + (int) ((long) (to - from) * i / chunkCount));
+            bounds[i] = Math.min(to, lineEnd(buf, target, to) + 1);
+        }
+        bounds[chunkCount] = to;
+
+        List<ForkJoinTask<Integer>> counts = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            int s = bounds[i], e = bounds[i + 1];
+            counts.add(pool.submit(() -> countLines(buf, s, e)));
+        }
+        int[] chunkFirstLine = new int[chunkCount];
+        int line = firstLine;
+        for (int i = 0; i < chunkCount; i++) {
+            chunkFirstLine[i] = line;
+            line += counts.get(i).join();
+        }
+
+        List<ForkJoinTask<List<Participant>>> parts = new ArrayList<>();
+        RangeStats[] chunkStats = new RangeStats[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            int s = bounds[i], e = bounds[i + 1], first = chunkFirstLine[i];
+            RangeStats cs = chunkStats[i] = new RangeStats();
+            parts.add(pool.submit(() -> {
+                List<Participant> part = new ArrayList<>();
+                parseRange(buf.duplicate(), s, e, columns, first, part::add, cs);
+                return part;
+            }));
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            parts.get(i).join().forEach(sink);
+            stats.lines += chunkStats[i].lines;
+            stats.success += chunkStats[i].success;
+        }
+    }
+
+    // Number of lines in [from, to), counting a final line without '\n'
+    private static int countLines(ByteBuffer buf, int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) == '\n') lines++;
+        }
+        return to > from && buf.get(to - 1) != '\n' ? lines + 1 : lines;
+    }
+
+    // Index of the next '\n' at or after pos, or 'to' if the range ends first
+    static int lineEnd(ByteBuffer buf, int pos, int to) {
+        while (pos < to && buf.get(pos) != '\n') pos++;
+        return pos;
+    }
+
+    // Offset just past the last '\n' in [0, to), or 0 if there is none
+    static int lastLineEnd(ByteBuffer buf, int to) {
+        for (int i = to - 1; i >= 0; i--) {
+            if (buf.get(i) == '\n') return i + 1;
+        }
+        return 0;
+    }
+
+    private static int trimCarriageReturn(ByteBuffer buf, int from, int end) {
+        return end > from && buf.get(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    private static boolean isBlank(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buf.get(i) & 0xff) > ' ') return false;
+        }
+        return true;
+    }
+
+    private static byte[] bytes(ByteBuffer buf, int from, int to) {
+        byte[] out = new byte[to - from];
+        buf.get(from, out);
+        return out;
+    }
+
+    // Trimmed text of a column, or "" if the column is absent
+    private static String text(ByteBuffer buf, int[] starts, int[] ends, int column, byte[] scratch) {
+        if (column < 0) return "";
+        int from = starts[column];
+        int to = ends[column];
+        while (from < to && (buf.get(from) & 0xff) <= ' ') from++;
+        while (to > from && (buf.get(to - 1) & 0xff) <= ' ') to--;
+        int len = to - from;
+        if (len == 0) return "";
+        byte[] dst = len <= scratch.length ? scratch : new byte[len];
+        buf.get(from, dst, 0, len);
+        return new String(dst, 0, len, StandardCharsets.UTF_8);
+    }
+
+    // Decodes a trimmed integer column without creating a String; NO_VALUE if absent or malformed
+    private static long parseInt(ByteBuffer buf, int[] starts, int[] ends, int column) {
+        if (column < 0) return NO_VALUE;
+        int from = starts[column];
+        int to = ends[column];
+        while (from < to && (buf.get(from) & 0xff) <= ' ') from++;
+        while (to > from && (buf.get(to - 1) & 0xff) <= ' ') to--;
+        if (from == to) return NO_VALUE;
+
+        boolean negative = false;
+        byte first = buf.get(from);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++from == to) return NO_VALUE;
+        }
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) return NO_VALUE;
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) return NO_VALUE;
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NO_VALUE : value;
+    }
+
+    private static Integer boxed(long value) {
+        return value == NO_VALUE ? null : (int) value;
+    }
+}
@@ -0,0 +1,52 @@
+package teamate;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Interns names into one shared instance each, numbered densely from 0 in
+ * first-seen order. Lookups are lock-free; only a new name takes the lock.
+ */
+final class NameRegistry<T> {
+    private final ConcurrentHashMap<String, T> byName = new ConcurrentHashMap<>();
+    private final BiFunction<String, Integer, T> factory;
+    private volatile Object[] byOrdinal = new Object[16];
+    private volatile int size;
+
+    NameRegistry(BiFunction<String, Integer, T> factory) {
+        this.factory = factory;
+    }
+
+    T intern(String name) {
+        T value = byName.get(name);
+        return value != null ? value : add(name);
+    }
+
+    // The instance for the name, or null if it was never interned
+    T find(String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) throw new IndexOutOfBoundsException("Ordinal " + ordinal + " of " + size);
+        return (T) byOrdinal[ordinal];
+    }
+
+    int size() { return size; }
+
+    private synchronized T add(String name) {
+        T value = byName.get(name);
+        if (value != null) return value;
+        int ordinal = size;
+        value = factory.apply(name, ordinal);
+        Object[] table = byOrdinal;
+        if (ordinal == table.length) table = Arrays.copyOf(table, ordinal * 2);
+        table[ordinal] = value;
+        byOrdinal = table;
+        size = ordinal + 1; // publish after the slot is written
+        byName.put(name, value);
+        return value;
+    }
+}
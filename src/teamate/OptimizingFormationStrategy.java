@@ -0,0 +1,39 @@
+package teamate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Greedy formation followed by TeamOptimizer's local search for a fixed time budget.
+ * The most expensive strategy; meant for finals rather than practice events.
+ */
+public class OptimizingFormationStrategy implements TeamFormationStrategy {
+    private final Duration budget;
+    private final long seed;
+
+    public OptimizingFormationStrategy(Duration budget, long seed) {
+        this.budget = budget;
+        this.seed = seed;
+    }
+
+    public Duration getBudget() { return budget; }
+    public long getSeed() { return seed; }
+
+    @Override
+    public String getName() { return TeamFormationStrategies.OPTIMIZING; }
+
+    @Override
+    public String getDescription() {
+        return "Optimizing - greedy plus up to " + budget.getSeconds() + "s of search for more balanced teams";
+    }
+
+    @Override
+    public FormationReport formTeams(List<Participant> participants, int teamSize, TeamConstraints constraints) {
+        long start = System.nanoTime();
+        TeamOptimizer optimizer = new TeamOptimizer(teamSize, seed, constraints);
+        TeamFormationResult greedy = new TeamBuilder(participants, teamSize, null, constraints).formAllTeams();
+        TeamFormationResult result = optimizer.optimize(greedy, budget);
+        return new FormationReport(getName(), result, (System.nanoTime() - start) / 1_000_000,
+                "Moves: " + optimizer.getMovesTried() + ", Accepted: " + optimizer.getMovesAccepted());
+    }
+}
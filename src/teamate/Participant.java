@@ -10,50 +10,67 @@ public class Participant {
     private String id;
     private String name;
     private String email;
-    private String interest; // Preferred game
+    private Game game; // Preferred game
     private int skillLevel;
-    private String role;
+    private Role role;
     // Optional five-question scores (1-5 expected, total score range: 5-25)
     private Integer q1, q2, q3, q4, q5;
     private int personalityScore; // Scaled 0-100
-    private String personalityType;
+    private PersonalityType personality;
 
-    // Constructor to initialize participant data
+    // Constructor to initialize participant data, classified with the default thresholds
     public Participant(String id, String name, String email,
                        String interest, int skillLevel, String role,
                        Integer q1, Integer q2, Integer q3, Integer q4, Integer q5,
                        Integer personalityScore, String personalityType) {
+        this(id, name, email, interest, skillLevel, role, q1, q2, q3, q4, q5, personalityScore, personalityType,
+                PersonalityClassifier.standard());
+    }
+
+    /**
+     * Initializes participant data and classifies the score with the given classifier.
+     * The score is clamped to 0-100 before it is stored and classified.
+     */
+    public Participant(String id, String name, String email,
+                       String interest, int skillLevel, String role,
+                       Integer q1, Integer q2, Integer q3, Integer q4, Integer q5,
+                       Integer personalityScore, String personalityType, PersonalityClassifier classifier) {
         this.id = safe(id);
         this.name = safe(name);
         this.email = safe(email);
-        this.interest = safe(interest).isEmpty() ? "Unknown" : interest;
+        this.game = Game.of(safe(interest).isEmpty() ? "Unknown" : interest);
         this.skillLevel = Math.max(0, skillLevel);
-        this.role = safe(role).isEmpty() ? "Unknown" : role;
+        this.role = Role.of(safe(role).isEmpty() ? "Unknown" : role);
         this.q1 = q1; this.q2 = q2; this.q3 = q3; this.q4 = q4; this.q5 = q5;
 
         // If 5 questions are provided, calculate the total score
         if (hasFiveQuestions()) {
-            this.personalityScore = computeTotalFromQuestions() * 4; // Scale to 100
+            this.personalityScore = clamp(computeTotalFromQuestions() * 4, 0, 100); // Scale to 100
         } else if (personalityScore != null) {
             this.personalityScore = clamp(personalityScore, 0, 100);
         } else {
             this.personalityScore = 0;
         }
 
-        // Classify personality type based on score
-        this.personalityType = classifyPersonality(personalityScore);
+        // Classify personality type based on the score just stored, once
+        this.personality = classifier.classifyType(this.personalityScore);
     }
 
     // Helper method to ensure a non-null and trimmed string
     private String safe(String s) { return s == null ? "" : s.trim(); }
 
+    // Constructor for views whose data lives elsewhere (see ParticipantTable)
+    protected Participant() {
+    }
+
     // Check if all 5 personality questions are provided
     public boolean hasFiveQuestions() {
-        return q1 != null && q2 != null && q3 != null && q4 != null && q5 != null;
+        return getQ1() != null && getQ2() != null && getQ3() != null && getQ4() != null && getQ5() != null;
     }
 
     // Calculate the total score from the 5 questions (range: 5-25)
     public int computeTotalFromQuestions() {
+        Integer q1 = getQ1(), q2 = getQ2(), q3 = getQ3(), q4 = getQ4(), q5 = getQ5();
         int sum = 0;
         sum += (q1 != null ? q1 : 0);
         sum += (q2 != null ? q2 : 0);
@@ -64,18 +81,15 @@ public class Participant {
     }
 
     // Clamp the score to a defined range (0-100)
-    private int clamp(int v, int a, int b) {
+    private static int clamp(int v, int a, int b) {
         if (v < a) return a;
         if (v > b) return b;
         return v;
     }
 
-    // Classify the personality based on the score
+    // Classify the score with the default thresholds; scores outside 0-100 are Invalid
     public String classifyPersonality(int score) {
-        if (score >= 90) return "Leader";
-        if (score >= 70) return "Balanced";
-        if (score >= 50) return "Thinker";
-        return "Undefined"; // Default to Undefined if score < 50
+        return PersonalityClassifier.standard().classify(score);
     }
 
     // Getters and setters for the Participant class
@@ -84,47 +98,79 @@ public class Participant {
     public String getId() { return id; }
     public String getName() { return name; }
     public String getEmail() { return email; }
-    public String getInterest() { return interest; }
+    public String getInterest() { return nameOf(getGame()); }
     public int getSkillLevel() { return skillLevel; }
-    public String getRole() { return role; }
+    public String getRole() { return nameOf(getPreferredRole()); }
     public int getPersonalityScore() { return personalityScore; }
-    public String getPersonalityType() { return personalityType; }
+    public String getPersonalityType() { return nameOf(getPersonality()); }
+
+    public Game getGame() { return game; }
+    public Role getPreferredRole() { return role; }
+    public PersonalityType getPersonality() { return personality; }
+
+    private static String nameOf(Object o) { return o == null ? null : o.toString(); }
 
     // Setters
     public void setName(String name) { this.name = name; }
     public void setEmail(String email) { this.email = email; }
-    public void setInterest(String interest) { this.interest = interest; }
-    public void setRole(String role) { this.role = role; }
+    public void setInterest(String interest) { this.game = Game.of(interest); }
+    public void setRole(String role) { this.role = Role.of(role); }
     public void setSkillLevel(int skillLevel) { this.skillLevel = skillLevel; }
-    public void setPersonalityType(String t) { this.personalityType = t; }
+    public void setPersonality(PersonalityType personality) { this.personality = personality; }
+
+    // Accepts a label such as "Leader"; null or blank clears the type
+    public void setPersonalityType(String t) { setPersonality(toPersonality(t)); }
+
+    static PersonalityType toPersonality(String label) {
+        if (label == null || label.trim().isEmpty()) return null;
+        PersonalityType type = PersonalityType.fromLabel(label);
+        if (type == null) throw new IllegalArgumentException("Unknown personality type: " + label);
+        return type;
+    }
 
     // Method to output participant data for a team in CSV format
     public String toCSVForTeam(int teamId) {
         return String.format("%d,%s,%s,%d,%s,%s,%d,%s",
-                teamId, id, name, skillLevel, interest, role, personalityScore, personalityType);
+                teamId, getId(), getName(), getSkillLevel(), getInterest(), getRole(),
+                getPersonalityScore(), getPersonalityType());
     }
 
     @Override
     public String toString() {
         return String.format("%s (%s) - Role:%s Interest:%s Skill:%d Personality:%s/%d",
-                id, name, role, interest, skillLevel, personalityType, personalityScore);
+                getId(), getName(), getRole(), getInterest(), getSkillLevel(), getPersonalityType(), getPersonalityScore());
     }
     public String toCSVForParticipant() {
         // Format: Pxxx,Participant_x,userX@university.edu,Game,Skill,Role,PersonalityScore,PersonalityType
         return String.format("P%s,%s,%s,%s,%d,%s,%d,%s",
-                id.substring(1),                // ID as P101, P102, etc.
-                name,  // Add Participant_ before ID for full name
-                email,                          // Email
-                interest,                       // Participant's game/interest
-                skillLevel,                     // Participant's skill level
-                role,                           // Participant's role
-                personalityScore,               // Personality score (scaled)
-                personalityType);               // Personality type (Leader, Balanced, Thinker)
+                getId().substring(1),           // ID as P101, P102, etc.
+                getName(),  // Add Participant_ before ID for full name
+                getEmail(),                     // Email
+                getInterest(),                  // Participant's game/interest
+                getSkillLevel(),                // Participant's skill level
+                getRole(),                      // Participant's role
+                getPersonalityScore(),          // Personality score (scaled)
+                getPersonalityType());          // Personality type (Leader, Balanced, Thinker)
     }
     /**
      * Check if participant data is valid for team formation
      */
     public boolean isValid() {
+        return isValid(getId(), getName(), getEmail(), getInterest(), getRole(),
+                getSkillLevel(), getPersonalityScore(), getPersonality());
+    }
+
+    /**
+     * Check if participant is eligible for team formation
+     */
+    public boolean isEligibleForTeams() {
+        return isEligibleForTeams(getId(), getName(), getEmail(), getInterest(), getRole(),
+                getSkillLevel(), getPersonalityScore(), getPersonality());
+    }
+
+    // The same checks on raw values, for stores that keep rows outside Participant objects
+    static boolean isValid(String id, String name, String email, String interest, String role,
+                           int skillLevel, int personalityScore, PersonalityType personality) {
         return id != null && !id.isEmpty() &&
                 name != null && !name.isEmpty() &&
                 email != null && !email.isEmpty() &&
@@ -132,30 +178,28 @@ public class Participant {
                 role != null && !role.isEmpty() &&
                 skillLevel >= 1 && skillLevel <= 10 &&
                 personalityScore >= 0 && personalityScore <= 100 &&
-                personalityType != null && !personalityType.isEmpty();
+                personality != null;
     }
 
-    /**
-     * Check if participant is eligible for team formation
-     */
-    public boolean isEligibleForTeams() {
-        return isValid() &&
-                !"Undefined".equals(personalityType) &&
-                !"Invalid".equals(personalityType);
+    static boolean isEligibleForTeams(String id, String name, String email, String interest, String role,
+                                      int skillLevel, int personalityScore, PersonalityType personality) {
+        return isValid(id, name, email, interest, role, skillLevel, personalityScore, personality) &&
+                personality != PersonalityType.UNDEFINED &&
+                personality != PersonalityType.INVALID;
     }
 
     // Add equals and hashCode methods for proper collection handling
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Participant)) return false;
         Participant that = (Participant) o;
-        return Objects.equals(id, that.id) && Objects.equals(email, that.email);
+        return Objects.equals(getId(), that.getId()) && Objects.equals(getEmail(), that.getEmail());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, email);
+        return Objects.hash(getId(), getEmail());
     }
 
     public void setPersonalityScore(int i) {
@@ -0,0 +1,148 @@
+package teamate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registered emails and the participant ID sequence for one participant CSV.
+ * <p>
+ * The CSV is read once, when the registry is first requested; after that every
+ * saved or edited participant is recorded here, so duplicate checks are a hash
+ * lookup and a new ID is an atomic increment. Emails are compared trimmed and
+ * case-insensitively. Every method is safe to call from several threads.
+ */
+public class ParticipantRegistry {
+    // IDs are "P" followed by a number; numbering continues after the highest seen
+    private static final int FIRST_ID = 100;
+
+    private static final Map<Path, ParticipantRegistry> LOADED = new HashMap<>();
+
+    private final ConcurrentHashMap<String, String> idByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger(FIRST_ID);
+
+    ParticipantRegistry() {
+    }
+
+    /**
+     * The shared registry for a CSV file, read from the file on first use. A
+     * missing file gives an empty registry.
+     */
+    public static synchronized ParticipantRegistry forCsv(String csvPath) throws IOException {
+        Path key = Paths.get(csvPath).toAbsolutePath().normalize();
+        ParticipantRegistry registry = LOADED.get(key);
+        if (registry == null) {
+            registry = new ParticipantRegistry();
+            if (Files.exists(key)) registry.load(key);
+            LOADED.put(key, registry);
+        }
+        return registry;
+    }
+
+    /**
+     * The shared registry for a CSV file whose participants are already loaded:
+     * they are registered instead of reading the file again.
+     */
+    public static synchronized ParticipantRegistry forLoaded(String csvPath, Collection<Participant> participants) {
+        Path key = Paths.get(csvPath).toAbsolutePath().normalize();
+        ParticipantRegistry registry = LOADED.computeIfAbsent(key, k -> new ParticipantRegistry());
+        registry.registerAll(participants);
+        return registry;
+    }
+
+    // Streams the ID and email columns; the first line is the header
+    private void load(Path csv) throws IOException {
+        int rows = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.split(",", 4);
+                String email = tokens.length > 2 ? tokens[2] : null;
+                register(tokens[0].trim(), email);
+                rows++;
+            }
+        }
+        Logger.getInstance().debug("Loaded participant registry for {} with {} rows", csv, rows);
+    }
+
+    public void registerAll(Collection<Participant> participants) {
+        for (Participant p : participants) register(p);
+    }
+
+    // Records a saved participant's email and advances the ID sequence past its ID
+    public void register(Participant participant) {
+        register(participant.getId(), participant.getEmail());
+    }
+
+    private void register(String id, String email) {
+        String key = normalize(email);
+        if (key != null && id != null) idByEmail.putIfAbsent(key, id);
+        int number = idNumber(id);
+        if (number > 0) lastId.accumulateAndGet(number, Math::max);
+    }
+
+    public boolean isEmailRegistered(String email) {
+        String key = normalize(email);
+        return key != null && idByEmail.containsKey(key);
+    }
+
+    /**
+     * Reserves an email for a participant still taking the survey, so concurrent
+     * sessions cannot both pass the duplicate check. Returns false if the email
+     * belongs to someone else.
+     */
+    public boolean claimEmail(String email, String participantId) {
+        return changeEmail(participantId, null, email);
+    }
+
+    // Gives up an email claimed by a survey that was abandoned or not saved
+    public void releaseEmail(String email, String participantId) {
+        String key = normalize(email);
+        if (key != null) idByEmail.remove(key, participantId);
+    }
+
+    /**
+     * Moves a participant to a new email. Returns false, changing nothing, if the
+     * new email belongs to someone else.
+     */
+    public boolean changeEmail(String participantId, String oldEmail, String newEmail) {
+        String key = normalize(newEmail);
+        if (key == null) return false;
+        String owner = idByEmail.putIfAbsent(key, participantId);
+        if (owner != null && !owner.equals(participantId)) return false;
+        String oldKey = normalize(oldEmail);
+        if (oldKey != null && !oldKey.equals(key)) idByEmail.remove(oldKey, participantId);
+        return true;
+    }
+
+    // The next unused participant ID; never hands out the same ID twice
+    public String nextParticipantId() {
+        return "P" + lastId.incrementAndGet();
+    }
+
+    public int size() {
+        return idByEmail.size();
+    }
+
+    private static String normalize(String email) {
+        if (email == null) return null;
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+
+    // Numeric part of a "P123" ID, or -1 for any other ID
+    private static int idNumber(String id) {
+        if (id == null || id.length() < 2 || id.charAt(0) != 'P') return -1;
+        try {
+            return Integer.parseInt(id.substring(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
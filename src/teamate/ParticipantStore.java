@@ -0,0 +1,339 @@
+package teamate;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Read-only binary participant file, memory-mapped so opening it costs the same
+ * for ten participants or ten million and nothing is copied onto the heap.
+ * <p>
+ * Layout: a 64-byte header, then one 32-byte record per participant, then a
+ * string segment holding ids, names and emails, then a symbol table of the
+ * distinct games and roles. Records point into the string segment by offset
+ * and into the symbol table by code. Participants are decoded only when a
+ * getter is called. Write a store with {@link Writer}; FileManager converts
+ * CSV files to stores.
+ */
+public class ParticipantStore {
+    private static final int MAGIC = 0x544D5053; // "TMPS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 32;
+    // Records are addressed with int offsets in one mapping
+    private static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    // Record field offsets
+    private static final int ID = 0, NAME = 4, EMAIL = 8, GAME = 12, ROLE = 14,
+            SKILL = 16, SCORE = 20, ANSWERS = 24, PERSONALITY = 29;
+
+    // Marks a missing string, game, role or personality type
+    private static final int NONE = -1;
+    // Marks a missing Q1..Q5 answer
+    private static final byte NO_ANSWER = Byte.MIN_VALUE;
+
+    private final Path path;
+    private final int size;
+    private final ByteBuffer records;
+    private final ByteBuffer strings;
+    private final Game[] games;
+    private final Role[] roles;
+
+    private ParticipantStore(Path path, int size, ByteBuffer records, ByteBuffer strings, Game[] games, Role[] roles) {
+        this.path = path;
+        this.size = size;
+        this.records = records;
+        this.strings = strings;
+        this.games = games;
+        this.roles = roles;
+    }
+
+    /**
+     * Maps the store file. Only the header and the game and role names are read now.
+     */
+    public static ParticipantStore open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) throw new IOException("Not a participant store (too short): " + path);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) throw new IOException("Not a participant store: " + path);
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported participant store version " + header.getInt(4) + ": " + path);
+            }
+            int size = header.getInt(8);
+            long stringsOffset = header.getLong(16);
+            long stringsLength = header.getLong(24);
+            long symbolsOffset = header.getLong(32);
+            int gameCount = header.getInt(40);
+            int roleCount = header.getInt(44);
+            if (size < 0 || size > MAX_RECORDS || stringsOffset != HEADER_SIZE + (long) size * RECORD_SIZE
+                    || symbolsOffset != stringsOffset + stringsLength || symbolsOffset > fileSize) {
+                throw new IOException("Corrupt participant store header: " + path);
+            }
+
+            ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) size * RECORD_SIZE);
+            ByteBuffer strings = channel.map(FileChannel.MapMode.READ_ONLY, stringsOffset, stringsLength);
+            ByteBuffer symbols = channel.map(FileChannel.MapMode.READ_ONLY, symbolsOffset, fileSize - symbolsOffset);
+            Game[] games = new Game[gameCount];
+            Role[] roles = new Role[roleCount];
+            int at = 0;
+            for (int i = 0; i < gameCount; i++) {
+                games[i] = Game.of(readString(symbols, at));
+                at += 4 + symbols.getInt(at);
+            }
+            for (int i = 0; i < roleCount; i++) {
+                roles[i] = Role.of(readString(symbols, at));
+                at += 4 + symbols.getInt(at);
+            }
+            return new ParticipantStore(path, size, records, strings, games, roles);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt participant store: " + path, e);
+        }
+    }
+
+    public Path getPath() { return path; }
+
+    public int size() { return size; }
+
+    /**
+     * A read-only view of the participant at the index. Views are created on each
+     * call, so compare them with equals() rather than by identity.
+     */
+    public Participant get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Record " + index + " of " + size);
+        return new Record(index * RECORD_SIZE);
+    }
+
+    /**
+     * A heap copy of the participant at the index that can be edited.
+     */
+    public Participant load(int index) {
+        Participant r = get(index);
+        Participant p = new Participant(r.getId(), r.getName(), r.getEmail(), r.getInterest(), r.getSkillLevel(),
+                r.getRole(), r.getQ1(), r.getQ2(), r.getQ3(), r.getQ4(), r.getQ5(), r.getPersonalityScore(), null);
+        p.setPersonality(r.getPersonality());
+        return p;
+    }
+
+    // Read-only list of record views
+    public List<Participant> asList() {
+        return new AbstractList<Participant>() {
+            @Override
+            public Participant get(int index) { return ParticipantStore.this.get(index); }
+
+            @Override
+            public int size() { return size; }
+        };
+    }
+
+    // Field accessors for code that works on records directly
+    public int skillLevel(int index) { return records.getInt(index * RECORD_SIZE + SKILL); }
+    public int personalityScore(int index) { return records.getInt(index * RECORD_SIZE + SCORE); }
+
+    private String string(int ref) {
+        return ref == NONE ? null : readString(strings, ref);
+    }
+
+    private static String readString(ByteBuffer buffer, int at) {
+        byte[] bytes = new byte[buffer.getInt(at)];
+        buffer.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Integer fromAnswer(byte b) {
+        return b == NO_ANSWER ? null : (int) b;
+    }
+
+    /**
+     * Participant view over one record. Setters throw, as the store is read-only;
+     * use load() for an editable copy.
+     */
+    private final class Record extends Participant {
+        private final int base;
+
+        Record(int base) {
+            this.base = base;
+        }
+
+        @Override public String getId() { return string(records.getInt(base + ID)); }
+        @Override public String getName() { return string(records.getInt(base + NAME)); }
+        @Override public String getEmail() { return string(records.getInt(base + EMAIL)); }
+        @Override public Game getGame() {
+            short code = records.getShort(base + GAME);
+            return code == NONE ? null : games[code];
+        }
+        @Override public int getSkillLevel() { return records.getInt(base + SKILL); }
+        @Override public Role getPreferredRole() {
+            short code = records.getShort(base + ROLE);
+            return code == NONE ? null : roles[code];
+        }
+        @Override public int getPersonalityScore() { return records.getInt(base + SCORE); }
+        @Override public PersonalityType getPersonality() {
+            byte type = records.get(base + PERSONALITY);
+            return type == NONE ? null : PersonalityClassifier.typeOf(type);
+        }
+        @Override public Integer getQ1() { return fromAnswer(records.get(base + ANSWERS)); }
+        @Override public Integer getQ2() { return fromAnswer(records.get(base + ANSWERS + 1)); }
+        @Override public Integer getQ3() { return fromAnswer(records.get(base + ANSWERS + 2)); }
+        @Override public Integer getQ4() { return fromAnswer(records.get(base + ANSWERS + 3)); }
+        @Override public Integer getQ5() { return fromAnswer(records.get(base + ANSWERS + 4)); }
+
+        @Override public void setName(String name) { throw readOnly(); }
+        @Override public void setEmail(String email) { throw readOnly(); }
+        @Override public void setInterest(String interest) { throw readOnly(); }
+        @Override public void setRole(String role) { throw readOnly(); }
+        @Override public void setSkillLevel(int skillLevel) { throw readOnly(); }
+        @Override public void setPersonality(PersonalityType type) { throw readOnly(); }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Participant store is read-only: " + path);
+        }
+    }
+
+    /**
+     * Writes a store one participant at a time, so a roster of any size can be
+     * converted without holding it in memory. Records and strings go to temporary
+     * files next to the target; close() joins them and moves the result onto the
+     * target in one step, so the target is never a partly written store. Call
+     * abort() instead if writing fails; it leaves the target as it was.
+     */
+    public static final class Writer implements Closeable {
+        private final Path target;
+        private final Path recordsFile;
+        private final Path stringsFile;
+        private final DataOutputStream records;
+        private final DataOutputStream strings;
+        private final Map<Game, Integer> gameCodes = new LinkedHashMap<>();
+        private final Map<Role, Integer> roleCodes = new LinkedHashMap<>();
+        private long stringsLength;
+        private int count;
+        private boolean closed;
+        private boolean committed;
+
+        public Writer(Path target) throws IOException {
+            this.target = target;
+            Path dir = target.toAbsolutePath().getParent();
+            this.recordsFile = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+            this.stringsFile = Files.createTempFile(dir, target.getFileName().toString(), ".strings");
+            this.records = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(recordsFile), 1 << 16));
+            this.strings = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(stringsFile), 1 << 16));
+            records.write(new byte[HEADER_SIZE]); // filled in by close()
+        }
+
+        public void add(Participant p) throws IOException {
+            if (count == MAX_RECORDS) throw new IOException("Participant store is full: " + target);
+            records.writeInt(writeString(p.getId()));
+            records.writeInt(writeString(p.getName()));
+            records.writeInt(writeString(p.getEmail()));
+            records.writeShort(code(gameCodes, p.getGame()));
+            records.writeShort(code(roleCodes, p.getPreferredRole()));
+            records.writeInt(p.getSkillLevel());
+            records.writeInt(p.getPersonalityScore());
+            for (Integer q : new Integer[]{p.getQ1(), p.getQ2(), p.getQ3(), p.getQ4(), p.getQ5()}) {
+                records.writeByte(q == null ? NO_ANSWER : Math.max(Byte.MIN_VALUE + 1, Math.min(Byte.MAX_VALUE, q)));
+            }
+            records.writeByte(p.getPersonality() == null ? NONE : p.getPersonality().ordinal());
+            records.writeShort(0); // padding to RECORD_SIZE
+            count++;
+        }
+
+        public int getCount() { return count; }
+
+        // Offset of the string in the string segment
+        private int writeString(String s) throws IOException {
+            if (s == null) return NONE;
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            if (stringsLength + 4 + bytes.length > Integer.MAX_VALUE) {
+                throw new IOException("Participant store string segment exceeds 2 GB: " + target);
+            }
+            int ref = (int) stringsLength;
+            strings.writeInt(bytes.length);
+            strings.write(bytes);
+            stringsLength += 4 + bytes.length;
+            return ref;
+        }
+
+        private static <T> int code(Map<T, Integer> codes, T value) throws IOException {
+            if (value == null) return NONE;
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (codes.size() == Short.MAX_VALUE) throw new IOException("Too many distinct games or roles");
+                code = codes.size();
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            try {
+                records.close();
+                strings.close();
+                try (FileChannel out = FileChannel.open(recordsFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                     FileChannel in = FileChannel.open(stringsFile, StandardOpenOption.READ)) {
+                    long copied = 0;
+                    while (copied < stringsLength) copied += in.transferTo(copied, stringsLength - copied, out);
+
+                    ByteArrayOutputStream symbolBytes = new ByteArrayOutputStream();
+                    DataOutputStream symbols = new DataOutputStream(symbolBytes);
+                    for (Game g : gameCodes.keySet()) writeSymbol(symbols, g.name());
+                    for (Role r : roleCodes.keySet()) writeSymbol(symbols, r.name());
+                    out.write(ByteBuffer.wrap(symbolBytes.toByteArray()));
+                }
+
+                long stringsOffset = HEADER_SIZE + (long) count * RECORD_SIZE;
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, count).putInt(12, RECORD_SIZE)
+                        .putLong(16, stringsOffset).putLong(24, stringsLength)
+                        .putLong(32, stringsOffset + stringsLength)
+                        .putInt(40, gameCodes.size()).putInt(44, roleCodes.size());
+                try (FileChannel out = FileChannel.open(recordsFile, StandardOpenOption.WRITE)) {
+                    out.write(header, 0);
+                    out.force(true);
+                }
+                Files.move(recordsFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                committed = true;
+            } finally {
+                Files.deleteIfExists(stringsFile);
+                if (!committed) Files.deleteIfExists(recordsFile);
+            }
+        }
+
+        /**
+         * Discards what has been written and deletes the temporary files. Does
+         * nothing once close() has moved the store onto the target.
+         */
+        public void abort() {
+            if (committed) return;
+            closed = true;
+            for (Closeable stream : new Closeable[]{records, strings}) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                    // the file is deleted anyway
+                }
+            }
+            for (Path file : new Path[]{recordsFile, stringsFile}) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    Logger.getInstance().warn("Could not delete temporary store file " + file + ": " + e.getMessage());
+                }
+            }
+        }
+
+        private static void writeSymbol(DataOutputStream out, String name) throws IOException {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
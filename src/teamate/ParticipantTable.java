@@ -0,0 +1,185 @@
+package teamate;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-oriented participant store for large cohorts.
+ * Skill and score are int columns, Q1..Q5 are byte columns, and game, role and
+ * personality type are stored as Game, Role and PersonalityType ordinals, so each row costs a few
+ * dozen bytes plus its id, name and email. Rows are exposed as Participant
+ * views that read and write the columns directly; a view is created the first
+ * time its row is asked for, so code that works on the columns (such as
+ * TeamBuilder's formation) only pays for views of the rows it hands out.
+ * Not thread-safe for writes; like ArrayList, fill it before sharing it.
+ */
+public class ParticipantTable {
+    // Marks a missing Q1..Q5 answer
+    private static final byte NO_ANSWER = Byte.MIN_VALUE;
+    // Marks a missing game, role or personality type
+    private static final int NONE = -1;
+
+    private int size;
+    private String[] ids;
+    private String[] names;
+    private String[] emails;
+    private int[] skillLevels;
+    private int[] personalityScores;
+    private final byte[][] answers = new byte[5][];
+    private int[] games;
+    private int[] roles;
+    private byte[] personalityTypes;
+    private Row[] views;
+
+    public ParticipantTable() {
+        this(16);
+    }
+
+    public ParticipantTable(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    // Builds a table holding the given participants, in order
+    public static ParticipantTable of(List<Participant> participants) {
+        ParticipantTable table = new ParticipantTable(participants.size());
+        for (Participant p : participants) table.add(p);
+        return table;
+    }
+
+    /**
+     * Appends a copy of the participant's data and returns its row number.
+     * Q1..Q5 answers outside the byte range are stored saturated.
+     */
+    public int add(Participant p) {
+        if (size == ids.length) allocate(size * 2);
+        int row = size++;
+        ids[row] = p.getId();
+        names[row] = p.getName();
+        emails[row] = p.getEmail();
+        skillLevels[row] = p.getSkillLevel();
+        personalityScores[row] = p.getPersonalityScore();
+        answers[0][row] = toAnswer(p.getQ1());
+        answers[1][row] = toAnswer(p.getQ2());
+        answers[2][row] = toAnswer(p.getQ3());
+        answers[3][row] = toAnswer(p.getQ4());
+        answers[4][row] = toAnswer(p.getQ5());
+        games[row] = ordinal(p.getGame());
+        roles[row] = ordinal(p.getPreferredRole());
+        personalityTypes[row] = ordinal(p.getPersonality());
+        return row;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * The participant view for a row. The same row always returns the same view,
+     * so views can be used as identity keys.
+     */
+    public Participant get(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        Row view = views[row];
+        if (view == null) {
+            view = new Row(row);
+            views[row] = view;
+        }
+        return view;
+    }
+
+    // Read-only list of the row views
+    public List<Participant> asList() {
+        return new AbstractList<Participant>() {
+            @Override
+            public Participant get(int index) { return ParticipantTable.this.get(index); }
+
+            @Override
+            public int size() { return size; }
+        };
+    }
+
+    // Column accessors for code that works on rows directly; ordinals are -1 when absent
+    public int skillLevel(int row) { return skillLevels[row]; }
+    public int personalityScore(int row) { return personalityScores[row]; }
+    public int gameOrdinal(int row) { return games[row]; }
+    public int roleOrdinal(int row) { return roles[row]; }
+    public int personalityOrdinal(int row) { return personalityTypes[row]; }
+
+    // Participant.isEligibleForTeams() for the row, without creating its view
+    public boolean isEligibleForTeams(int row) {
+        return Participant.isEligibleForTeams(ids[row], names[row], emails[row],
+                games[row] == NONE ? null : Game.byOrdinal(games[row]).name(),
+                roles[row] == NONE ? null : Role.byOrdinal(roles[row]).name(),
+                skillLevels[row], personalityScores[row],
+                personalityTypes[row] == NONE ? null : PersonalityClassifier.typeOf(personalityTypes[row]));
+    }
+
+    /**
+     * Re-tags every row from its score in one bulk pass, e.g. after the
+     * thresholds change.
+     */
+    public void reclassify(PersonalityClassifier classifier) {
+        classifier.classifyAll(personalityScores, personalityTypes, 0, size);
+    }
+
+    private void allocate(int capacity) {
+        ids = Arrays.copyOf(ids == null ? new String[0] : ids, capacity);
+        names = Arrays.copyOf(names == null ? new String[0] : names, capacity);
+        emails = Arrays.copyOf(emails == null ? new String[0] : emails, capacity);
+        skillLevels = Arrays.copyOf(skillLevels == null ? new int[0] : skillLevels, capacity);
+        personalityScores = Arrays.copyOf(personalityScores == null ? new int[0] : personalityScores, capacity);
+        for (int q = 0; q < answers.length; q++) {
+            answers[q] = Arrays.copyOf(answers[q] == null ? new byte[0] : answers[q], capacity);
+        }
+        games = Arrays.copyOf(games == null ? new int[0] : games, capacity);
+        roles = Arrays.copyOf(roles == null ? new int[0] : roles, capacity);
+        personalityTypes = Arrays.copyOf(personalityTypes == null ? new byte[0] : personalityTypes, capacity);
+        views = Arrays.copyOf(views == null ? new Row[0] : views, capacity);
+    }
+
+    private static byte toAnswer(Integer q) {
+        if (q == null) return NO_ANSWER;
+        return (byte) Math.max(Byte.MIN_VALUE + 1, Math.min(Byte.MAX_VALUE, q));
+    }
+
+    private static Integer fromAnswer(byte b) {
+        return b == NO_ANSWER ? null : (int) b;
+    }
+
+    private static int ordinal(Game game) { return game == null ? NONE : game.ordinal(); }
+    private static int ordinal(Role role) { return role == null ? NONE : role.ordinal(); }
+    private static byte ordinal(PersonalityType type) { return (byte) (type == null ? NONE : type.ordinal()); }
+
+    /**
+     * Participant view over one row of the table.
+     */
+    private final class Row extends Participant {
+        private final int row;
+
+        Row(int row) {
+            this.row = row;
+        }
+
+        @Override public String getId() { return ids[row]; }
+        @Override public String getName() { return names[row]; }
+        @Override public String getEmail() { return emails[row]; }
+        @Override public Game getGame() { return games[row] == NONE ? null : Game.byOrdinal(games[row]); }
+        @Override public int getSkillLevel() { return skillLevels[row]; }
+        @Override public Role getPreferredRole() { return roles[row] == NONE ? null : Role.byOrdinal(roles[row]); }
+        @Override public int getPersonalityScore() { return personalityScores[row]; }
+        @Override public PersonalityType getPersonality() {
+            return personalityTypes[row] == NONE ? null : PersonalityClassifier.typeOf(personalityTypes[row]);
+        }
+        @Override public Integer getQ1() { return fromAnswer(answers[0][row]); }
+        @Override public Integer getQ2() { return fromAnswer(answers[1][row]); }
+        @Override public Integer getQ3() { return fromAnswer(answers[2][row]); }
+        @Override public Integer getQ4() { return fromAnswer(answers[3][row]); }
+        @Override public Integer getQ5() { return fromAnswer(answers[4][row]); }
+
+        @Override public void setName(String name) { names[row] = name; }
+        @Override public void setEmail(String email) { emails[row] = email; }
+        @Override public void setInterest(String interest) { games[row] = ordinal(Game.of(interest)); }
+        @Override public void setRole(String role) { roles[row] = ordinal(Role.of(role)); }
+        @Override public void setSkillLevel(int skillLevel) { skillLevels[row] = skillLevel; }
+        @Override public void setPersonality(PersonalityType type) { personalityTypes[row] = ordinal(type); }
+    }
+}
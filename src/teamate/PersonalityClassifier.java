@@ -1,14 +1,123 @@
 package teamate;
 
+import java.util.List;
+
 /**
  * Classifies personality score into categories required by coursework.
+ * <p>
+ * Scores are 0-100, so every classifier precomputes the type of each score
+ * once; classifying is then a table lookup. The default thresholds are
+ * Leader from 90, Balanced from 70 and Thinker from 50, with Undefined below
+ * that and Invalid outside 0-100. Other thresholds can be given to Participant
+ * and FileManager for new participants, or used to re-tag existing ones in
+ * bulk with {@link #classifyAll} and {@link #reclassifyAll}.
  */
 public class PersonalityClassifier {
+    public static final int DEFAULT_THINKER_FROM = 50;
+    public static final int DEFAULT_BALANCED_FROM = 70;
+    public static final int DEFAULT_LEADER_FROM = 90;
+
+    private static final PersonalityType[] TYPES = PersonalityType.values();
+    private static final PersonalityClassifier STANDARD = new PersonalityClassifier();
+
+    private final int thinkerFrom;
+    private final int balancedFrom;
+    private final int leaderFrom;
+    // Type ordinal for scores -1..101; -1 and 101 stand for every score outside 0-100
+    private final byte[] table = new byte[103];
+
+    public PersonalityClassifier() {
+        this(DEFAULT_THINKER_FROM, DEFAULT_BALANCED_FROM, DEFAULT_LEADER_FROM);
+    }
+
+    /**
+     * Scores from each threshold up to the next are Thinker, Balanced and Leader.
+     * A threshold of 101 leaves that type empty.
+     */
+    public PersonalityClassifier(int thinkerFrom, int balancedFrom, int leaderFrom) {
+        if (thinkerFrom < 0 || thinkerFrom > balancedFrom || balancedFrom > leaderFrom || leaderFrom > 101) {
+            throw new IllegalArgumentException("Thresholds must satisfy 0 <= thinker <= balanced <= leader <= 101: "
+                    + thinkerFrom + ", " + balancedFrom + ", " + leaderFrom);
+        }
+        this.thinkerFrom = thinkerFrom;
+        this.balancedFrom = balancedFrom;
+        this.leaderFrom = leaderFrom;
+
+        table[0] = table[102] = (byte) PersonalityType.INVALID.ordinal();
+        for (int score = 0; score <= 100; score++) {
+            PersonalityType type = score >= leaderFrom ? PersonalityType.LEADER
+                    : score >= balancedFrom ? PersonalityType.BALANCED
+                    : score >= thinkerFrom ? PersonalityType.THINKER
+                    : PersonalityType.UNDEFINED;
+            table[score + 1] = (byte) type.ordinal();
+        }
+    }
+
+    // The classifier with the default thresholds, shared by Participant and the surveys
+    public static PersonalityClassifier standard() {
+        return STANDARD;
+    }
+
     public String classify(int score) {
-        if (score >= 90 && score <= 100) return "Leader";
-        if (score >= 70 && score <= 89) return "Balanced";
-        if (score >= 50 && score <= 69) return "Thinker";
-        if (score >= 0 && score < 50) return "Undefined";
-        return "Invalid";
+        return classifyType(score).getLabel();
+    }
+
+    // Same classification as a typed value; scores outside 0-100 are INVALID
+    public PersonalityType classifyType(int score) {
+        return TYPES[table[index(score)]];
+    }
+
+    /**
+     * Writes the type ordinal of each score to out, which must be at least as long
+     * as scores. The loop has no branches, only a clamp and a table load.
+     */
+    public void classifyAll(int[] scores, byte[] out) {
+        classifyAll(scores, out, 0, scores.length);
+    }
+
+    // Classifies scores[from, to) into out[from, to)
+    public void classifyAll(int[] scores, byte[] out, int from, int to) {
+        if (from < 0 || to > scores.length || to > out.length || from > to) {
+            throw new IndexOutOfBoundsException("Range " + from + "-" + to + " of " + scores.length + " scores, "
+                    + out.length + " outputs");
+        }
+        byte[] t = table;
+        for (int i = from; i < to; i++) {
+            out[i] = t[index(scores[i])];
+        }
+    }
+
+    /**
+     * Re-tags each participant from its score. Returns how many changed type.
+     */
+    public int reclassifyAll(List<Participant> participants) {
+        int changed = 0;
+        for (Participant p : participants) {
+            PersonalityType type = classifyType(p.getPersonalityScore());
+            if (p.getPersonality() != type) {
+                p.setPersonality(type);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    // The type for an ordinal written by classifyAll or stored in a column; no array copy per call
+    public static PersonalityType typeOf(byte ordinal) {
+        return TYPES[ordinal];
+    }
+
+    public int getThinkerFrom() { return thinkerFrom; }
+    public int getBalancedFrom() { return balancedFrom; }
+    public int getLeaderFrom() { return leaderFrom; }
+
+    // Clamps to -1..101 without branches and shifts into the table
+    private static int index(int score) {
+        return Math.max(-1, Math.min(101, score)) + 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Thinker from %d, Balanced from %d, Leader from %d", thinkerFrom, balancedFrom, leaderFrom);
     }
 }
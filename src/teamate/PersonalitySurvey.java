@@ -5,27 +5,61 @@ import java.util.Scanner;
 import java.util.regex.*;
 
 public class PersonalitySurvey extends Survey {
-    private final Scanner sc = new Scanner(System.in);
+    // Regex pattern for valid email format, compiled once for every session
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    private final Scanner sc;
+    private final PrintStream out;
     private final Logger logger = Logger.getInstance();
+    private ParticipantRegistry registry;
+
+    // Survey on the console
+    public PersonalitySurvey() {
+        this(new Scanner(System.in), System.out);
+    }
+
+    // Survey reading answers from and writing prompts to the given streams, e.g. a socket session
+    public PersonalitySurvey(Scanner in, PrintStream out) {
+        this.sc = in;
+        this.out = out;
+    }
 
     @Override
     public Participant conductSurvey(String filePath) {
         logger.info("Starting new personality survey");
 
-        System.out.println("\n=== New Personality Survey ===");
+        out.println("\n=== New Personality Survey ===");
+
+        // Registered emails and IDs, read from the CSV only on the first survey
+        try {
+            registry = ParticipantRegistry.forCsv(filePath);
+        } catch (IOException e) {
+            logger.error("Error reading participants for duplicate checks", e);
+            registry = new ParticipantRegistry();
+        }
 
         // Generate unique participant ID
-        String id = generateNewParticipantId(filePath);
+        String id = registry.nextParticipantId();
 
-        System.out.println("Generated Participant ID: " + id);
+        out.println("Generated Participant ID: " + id);
         logger.debug("Generated participant ID: " + id);
 
-        // Collect participant details with validation
+        // Collect participant details with validation; the email stays reserved for this ID
         String name = getValidName();
-        String email = getValidEmail();
+        String email = getValidEmail(id);
+        try {
+            return completeSurvey(filePath, id, name, email);
+        } catch (RuntimeException e) {
+            registry.releaseEmail(email, id); // abandoned or not saved
+            throw e;
+        }
+    }
+
+    private Participant completeSurvey(String filePath, String id, String name, String email) {
 
         // ---- Personality Questions (Rating 1 to 5) ----
-        System.out.println("\nRate each question from 1 (Strongly Disagree) to 5 (Strongly Agree):");
+        out.println("\nRate each question from 1 (Strongly Disagree) to 5 (Strongly Agree):");
         int q1 = askInt("Q1: I enjoy taking the lead and guiding others during group activities.", 1, 5);
         int q2 = askInt("Q2: I prefer analyzing situations and coming up with strategic solutions.", 1, 5);
         int q3 = askInt("Q3: I work well with others and enjoy collaborative teamwork.", 1, 5);
@@ -38,9 +72,6 @@ public class PersonalitySurvey extends Survey {
         int totalScore = q1 + q2 + q3 + q4 + q5;
         int scaledScore = totalScore * 4; // Scaling to 100
 
-        // ---- Personality Type Classification ----
-        String personalityType = classifyPersonality(scaledScore);
-
         // ---- Interest Selection ----
         String interest = askInterest();
 
@@ -51,12 +82,14 @@ public class PersonalitySurvey extends Survey {
         int skill = askInt("Enter Skill Level (1–10)", 1, 10);
 
         // Create a new participant
-        Participant newParticipant = new Participant(id, name, email, interest, skill, role, q1, q2, q3, q4, q5, scaledScore, personalityType);
+        Participant newParticipant = new Participant(id, name, email, interest, skill, role, q1, q2, q3, q4, q5, scaledScore, null);
 
         // Save new participant to the CSV file
-        saveParticipantToCSV(newParticipant, filePath);
+        if (!saveParticipantToCSV(newParticipant, filePath)) {
+            throw new UncheckedIOException(new IOException("Survey for " + id + " could not be saved"));
+        }
 
-        logger.info("Survey completed for participant: " + id + " - " + name + " (" + personalityType + ")");
+        logger.info("Survey completed for participant: " + id + " - " + name + " (" + newParticipant.getPersonality() + ")");
         return newParticipant;
     }
 
@@ -66,17 +99,17 @@ public class PersonalitySurvey extends Survey {
 
         while (input < minValue || input > maxValue) {  // Ensure input is between minValue and maxValue
             try {
-                System.out.print(msg + ": ");
+                out.print(msg + ": ");
                 input = Integer.parseInt(sc.nextLine().trim());  // Parse user input
 
                 // Validate input range (between minValue and maxValue)
                 if (input < minValue || input > maxValue) {
-                    System.out.println("Invalid input! Please enter a number between " + minValue + " and " + maxValue + ".");
+                    out.println("Invalid input! Please enter a number between " + minValue + " and " + maxValue + ".");
                 }
 
             } catch (NumberFormatException e) {
                 // Catch invalid numbers (non-integer input)
-                System.out.println("Invalid input! Please enter a valid number between " + minValue + " and " + maxValue + ".");
+                out.println("Invalid input! Please enter a valid number between " + minValue + " and " + maxValue + ".");
             }
         }
         return input;  // Return the valid input
@@ -89,10 +122,7 @@ public class PersonalitySurvey extends Survey {
 
     // Helper method to validate email format using regex
     private boolean isValidEmail(String email) {
-        // Regex pattern for valid email format
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-        Pattern pattern = Pattern.compile(emailRegex);
-        Matcher matcher = pattern.matcher(email);
+        Matcher matcher = EMAIL_PATTERN.matcher(email);
         return matcher.matches();
     }
 
@@ -100,16 +130,16 @@ public class PersonalitySurvey extends Survey {
     private String getValidName() {
         String name;
         while (true) {
-            System.out.print("Enter Name: ");
+            out.print("Enter Name: ");
             name = sc.nextLine().trim();
 
             // Check if the name contains only numbers
             if (name.matches("\\d+")) {
-                System.out.println("Invalid name! Name should not be a pure number.");
+                out.println("Invalid name! Name should not be a pure number.");
             }
             // Check if the name is empty (optional validation)
             else if (name.isEmpty()) {
-                System.out.println("Name cannot be empty. Please enter a valid name.");
+                out.println("Name cannot be empty. Please enter a valid name.");
             }
             else {
                 break; // Valid name, exit the loop
@@ -119,18 +149,18 @@ public class PersonalitySurvey extends Survey {
     }
 
     // Method to get valid email input
-    private String getValidEmail() {
+    private String getValidEmail(String id) {
         String email;
         while (true) {
-            System.out.print("Enter Email: ");
+            out.print("Enter Email: ");
             email = sc.nextLine().trim();
 
             if (!isValidEmail(email)) {
-                System.out.println("Invalid email format! Please enter a valid email.");
+                out.println("Invalid email format! Please enter a valid email.");
             } else {
-                // Check if email already exists in the CSV file
-                if (isEmailInCSV(email)) {
-                    System.out.println("❌ This email is already registered. Please use a different email.");
+                // Reserve the email unless it is already registered for this CSV file
+                if (!registry.claimEmail(email, id)) {
+                    out.println("❌ This email is already registered. Please use a different email.");
                 } else {
                     break;
                 }
@@ -139,35 +169,14 @@ public class PersonalitySurvey extends Survey {
         return email;
     }
 
-    // New helper method to check if email exists in CSV
-    private boolean isEmailInCSV(String email) {
-        try (BufferedReader reader = new BufferedReader(new FileReader("C:/Users/User/Downloads/New folder/teamate_coursework_full/participants_sample.csv"))) {
-            String line;
-            reader.readLine(); // Skip header
-
-            while ((line = reader.readLine()) != null) {
-                String[] tokens = line.split(",", -1);
-                if (tokens.length > 2) { // Email is typically in 3rd column (index 2)
-                    String existingEmail = tokens[2].trim();
-                    if (existingEmail.equalsIgnoreCase(email.trim())) {
-                        return true;
-                    }
-                }
-            }
-        } catch (IOException e) {
-            logger.error("Error reading CSV to check email duplicates", e);
-        }
-        return false;
-    }
-
     // Helper method to ask for interest
     private String askInterest() {
-        System.out.println("\nSelect your Interest:");
-        System.out.println("1. Valorant");
-        System.out.println("2. Dota");
-        System.out.println("3. FIFA");
-        System.out.println("4. Basketball");
-        System.out.println("5. Badminton");
+        out.println("\nSelect your Interest:");
+        out.println("1. Valorant");
+        out.println("2. Dota");
+        out.println("3. FIFA");
+        out.println("4. Basketball");
+        out.println("5. Badminton");
 
         return switch (askInt("Enter number: ", 1, 5)) {
             case 1 -> "Valorant";
@@ -181,12 +190,12 @@ public class PersonalitySurvey extends Survey {
 
     // Helper method to ask for role
     private String askRole() {
-        System.out.println("\nSelect Preferred Role:");
-        System.out.println("1. Defender");
-        System.out.println("2. Strategist");
-        System.out.println("3. Attacker");
-        System.out.println("4. Supporter");
-        System.out.println("5. Coordinator");
+        out.println("\nSelect Preferred Role:");
+        out.println("1. Defender");
+        out.println("2. Strategist");
+        out.println("3. Attacker");
+        out.println("4. Supporter");
+        out.println("5. Coordinator");
 
         return switch (askInt("Enter number: ", 1, 5)) {
             case 1 -> "Defender";
@@ -198,62 +207,18 @@ public class PersonalitySurvey extends Survey {
         };
     }
 
-    // Personality classification based on score
-    private String classifyPersonality(int score) {
-        if (score >= 90) return "Leader";
-        if (score >= 70) return "Balanced";
-        if (score >= 50) return "Thinker";
-        return "Undefined";
-    }
-
     // Save the new participant to the CSV file
-    private void saveParticipantToCSV(Participant newParticipant, String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath, true))) {
-            // Write new participant data as CSV (without header)
-            bw.write(newParticipant.toCSVForParticipant());  // Correct CSV format for participant
-            bw.newLine(); // Move to the next line
+    private boolean saveParticipantToCSV(Participant newParticipant, String filePath) {
+        try {
+            // Logged durably first, then appended to the CSV (without header)
+            SubmissionLog.forCsv(filePath).append(newParticipant);
+            registry.register(newParticipant);
             logger.debug("Participant saved to CSV: " + newParticipant.getId());
+            return true;
         } catch (IOException e) {
             logger.error("Failed to save participant to CSV: " + newParticipant.getId(), e);
-            System.err.println("Error saving participant to CSV: " + e.getMessage());
+            out.println("Error saving participant to CSV: " + e.getMessage());
+            return false;
         }
     }
-
-    // Generate new Participant ID starting from the last ID in the CSV
-    private String generateNewParticipantId(String filePath) {
-        int lastParticipantId = getLastParticipantId(filePath);
-        lastParticipantId++;  // Increment to get the next ID
-        return "P" + lastParticipantId;
-    }
-
-    // Method to read the last participant ID from the CSV file
-    private int getLastParticipantId(String filePath) {
-        int lastId = 100;  // Default ID if no participants are in the file
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // Assuming the participant ID is in the first column in each line
-                String[] tokens = line.split(",", -1);
-                String participantId = tokens[0].trim();
-
-                // Check if the ID starts with "P" and contains only numbers after "P"
-                if (participantId.startsWith("P") && participantId.length() > 1) {
-                    try {
-                        int numericId = Integer.parseInt(participantId.substring(1));  // Parse the numeric part after "P"
-                        lastId = numericId;  // Update lastId with the numeric ID
-                    } catch (NumberFormatException e) {
-                        // Skip invalid IDs or log the error
-                        logger.warn("Invalid ID format found: " + participantId);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            logger.error("Error reading participant IDs from CSV", e);
-            e.printStackTrace();
-        }
-
-        logger.debug("Last participant ID found: " + lastId);
-        return lastId;
-    }
-}
\ No newline at end of file
+}
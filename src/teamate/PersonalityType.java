@@ -0,0 +1,40 @@
+package teamate;
+
+/**
+ * Personality categories produced by classifying a 0-100 personality score.
+ * toString() gives the label used in CSV files and on screen.
+ */
+public enum PersonalityType {
+    LEADER("Leader"),
+    BALANCED("Balanced"),
+    THINKER("Thinker"),
+    UNDEFINED("Undefined"),
+    INVALID("Invalid");
+
+    private final String label;
+
+    PersonalityType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    // Type under the default thresholds; scores outside 0-100 are INVALID
+    public static PersonalityType fromScore(int score) {
+        return PersonalityClassifier.standard().classifyType(score);
+    }
+
+    // The type with the given label (case-insensitive), or null if there is none
+    public static PersonalityType fromLabel(String label) {
+        if (label == null) return null;
+        for (PersonalityType t : values()) {
+            if (t.label.equalsIgnoreCase(label.trim())) return t;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
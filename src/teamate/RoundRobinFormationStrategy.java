@@ -0,0 +1,54 @@
+package teamate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deals participants into teams in list order with no balancing, as
+ * FileManager.formTeams() always has. Linear time, so it suits very large
+ * practice events. Full teams that happen to meet the rules count as
+ * well-balanced; the last, partly filled team's members are left over.
+ * Teams hold the given participant objects rather than copies.
+ */
+public class RoundRobinFormationStrategy implements TeamFormationStrategy {
+    @Override
+    public String getName() { return TeamFormationStrategies.ROUND_ROBIN; }
+
+    @Override
+    public String getDescription() { return "Round-robin - fill teams in list order, no balancing (fastest)"; }
+
+    @Override
+    public FormationReport formTeams(List<Participant> participants, int teamSize, TeamConstraints constraints) {
+        long start = System.nanoTime();
+        List<Team> wellBalanced = new ArrayList<>();
+        List<Team> secondary = new ArrayList<>();
+        List<Participant> leftover = new ArrayList<>();
+        for (Team t : dealInOrder(participants, teamSize)) {
+            if (t.size() < teamSize) {
+                leftover.addAll(t.getMembers());
+            } else if (constraints.isWellBalanced(t, teamSize)) {
+                wellBalanced.add(t);
+            } else {
+                secondary.add(t);
+            }
+        }
+
+        TeamFormationResult result = new TeamFormationResult(wellBalanced, secondary, leftover);
+        return new FormationReport(getName(), result, (System.nanoTime() - start) / 1_000_000, null);
+    }
+
+    // Consecutive runs of teamSize participants form teams 1, 2, ...; the last may be partly filled
+    static List<Team> dealInOrder(List<Participant> participants, int teamSize) {
+        int size = Math.max(1, teamSize);
+        List<Team> teams = new ArrayList<>((participants.size() + size - 1) / size);
+        Team current = null;
+        for (Participant p : participants) {
+            if (current == null || current.size() == size) {
+                current = new Team(teams.size() + 1);
+                teams.add(current);
+            }
+            current.addMember(p);
+        }
+        return teams;
+    }
+}
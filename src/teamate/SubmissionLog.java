@@ -0,0 +1,386 @@
+package teamate;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log for survey submissions to a participant CSV.
+ * <p>
+ * A submission is first written to the log as a checksummed record and is
+ * durable once {@link #append} returns; the CSV line is written after it. The
+ * log and the CSV each stay open on one channel, so a submission costs no
+ * open or close. Concurrent submitters share fsyncs: whoever finds no commit
+ * in progress writes everything queued so far and forces it once, and the
+ * others wait for that commit instead of issuing their own.
+ * <p>
+ * Record layout: payload length (int), CRC32 of the payload (int), then the
+ * CSV line in UTF-8. Opening a log replays it: every intact record whose line
+ * is not already in the CSV is appended, a torn last CSV line is removed, and
+ * the log is emptied. Reading stops at the first short or corrupt record, which
+ * is what an interrupted write leaves behind.
+ */
+public class SubmissionLog implements Closeable {
+    public static final String LOG_SUFFIX = ".wal";
+
+    private static final int RECORD_HEADER = 8;
+    // A CSV line is far smaller; anything longer is a corrupt length field
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+    // Once the log grows past this the CSV is forced and the log emptied
+    private static final long CHECKPOINT_BYTES = 4L * 1024 * 1024;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    // One log per CSV file so every writer in the process shares the group commit
+    private static final Map<Path, SubmissionLog> OPEN = new HashMap<>();
+
+    private final Logger logger = Logger.getInstance();
+    private final Path csvPath;
+    private final FileChannel log;
+    private final FileChannel csv;
+
+    // A lock and condition rather than a monitor, so waiting virtual threads unmount
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+    private List<String> pending = new ArrayList<>();
+    private long appended;   // sequence number of the last queued submission
+    private long durable;    // sequence number of the last committed submission
+    private boolean committing;
+    private IOException failure;
+    private boolean closed;
+
+    private SubmissionLog(Path csvPath) throws IOException {
+        this.csvPath = csvPath;
+        this.log = FileChannel.open(logPath(csvPath), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.csv = FileChannel.open(csvPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                replay();
+            } catch (IOException e) {
+                csv.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The shared log for a CSV file, opened (and replayed) on first use.
+     */
+    public static synchronized SubmissionLog forCsv(String csvPath) throws IOException {
+        Path key = Paths.get(csvPath).toAbsolutePath().normalize();
+        SubmissionLog opened = OPEN.get(key);
+        if (opened == null) {
+            opened = new SubmissionLog(key);
+            OPEN.put(key, opened);
+        }
+        return opened;
+    }
+
+    /**
+     * Replays submissions left in the log by an earlier run, if there are any.
+     * Does nothing, and creates no files, when the log is missing or empty.
+     */
+    public static void recover(String csvPath) throws IOException {
+        Path logFile = logPath(Paths.get(csvPath));
+        if (Files.exists(logFile) && Files.size(logFile) > 0) {
+            forCsv(csvPath);
+        }
+    }
+
+    static Path logPath(Path csvPath) {
+        return Paths.get(csvPath + LOG_SUFFIX);
+    }
+
+    /**
+     * Logs a submission and adds it to the CSV. Returns once the log record is on
+     * disk. After a failed write the log refuses further submissions, since what
+     * reached the disk is unknown until it is replayed.
+     */
+    public void append(Participant participant) throws IOException {
+        appendAll(Collections.singletonList(participant));
+    }
+
+    /**
+     * Logs several submissions in one commit; they reach the disk with a single
+     * fsync, or together with other submitters' records. Returns once all of them
+     * are on disk.
+     */
+    public void appendAll(List<Participant> participants) throws IOException {
+        if (participants.isEmpty()) return;
+        List<String> lines = new ArrayList<>(participants.size());
+        for (Participant participant : participants) {
+            String line = participant.toCSVForParticipant();
+            if (line.getBytes(StandardCharsets.UTF_8).length > MAX_LINE_BYTES) {
+                throw new IOException("Submission too large: " + participant.getId());
+            }
+            lines.add(line);
+        }
+        long sequence;
+        lock.lock();
+        try {
+            checkUsable();
+            pending.addAll(lines);
+            appended += lines.size();
+            sequence = appended;
+        } finally {
+            lock.unlock();
+        }
+        awaitCommit(sequence);
+    }
+
+    // Waits until the submission with this sequence number is on disk, committing it if no one else is
+    private void awaitCommit(long sequence) throws IOException {
+        while (true) {
+            List<String> batch;
+            long upTo;
+            lock.lock();
+            try {
+                while (committing && durable < sequence && failure == null) {
+                    try {
+                        committed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted waiting for submission " + sequence);
+                    }
+                }
+                if (durable >= sequence) return;
+                checkUsable();
+                // Lead the next commit with everything queued so far
+                committing = true;
+                batch = pending;
+                pending = new ArrayList<>();
+                upTo = appended;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                commit(batch);
+            } catch (IOException e) {
+                error = e;
+            }
+            lock.lock();
+            try {
+                committing = false;
+                if (error == null) durable = upTo;
+                else failure = error;
+                committed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) throw error;
+            logger.debug("Committed {} submissions to {}", batch.size(), csvPath);
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (closed) throw new IOException("Submission log is closed: " + csvPath);
+        if (failure != null) throw new IOException("Submission log failed: " + csvPath, failure);
+    }
+
+    // Called by one thread at a time, the commit leader
+    private void commit(List<String> batch) throws IOException {
+        List<byte[]> lines = new ArrayList<>(batch.size());
+        int logBytes = 0;
+        int csvBytes = 0;
+        for (String line : batch) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            lines.add(bytes);
+            logBytes += RECORD_HEADER + bytes.length;
+            csvBytes += bytes.length + LINE_SEPARATOR.length;
+        }
+
+        ByteBuffer records = ByteBuffer.allocate(logBytes);
+        ByteBuffer rows = ByteBuffer.allocate(csvBytes);
+        for (byte[] bytes : lines) {
+            records.put(encodeRecord(bytes));
+            rows.put(bytes).put(LINE_SEPARATOR);
+        }
+        records.flip();
+        rows.flip();
+
+        writeFully(log, records, log.size());
+        log.force(false);
+        writeFully(csv, rows, csv.size());
+
+        if (log.size() >= CHECKPOINT_BYTES) checkpoint();
+    }
+
+    // Makes the CSV durable, after which the log records are no longer needed
+    private void checkpoint() throws IOException {
+        csv.force(false);
+        log.truncate(0);
+        log.force(false);
+    }
+
+    private void replay() throws IOException {
+        List<String> logged = readRecords();
+        if (logged.isEmpty()) {
+            endWithNewline(null);
+            return;
+        }
+
+        endWithNewline(logged);
+        Set<String> existing = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) existing.add(line);
+        }
+
+        int replayed = 0;
+        for (String line : logged) {
+            if (existing.add(line)) {
+                byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer row = ByteBuffer.allocate(bytes.length + LINE_SEPARATOR.length);
+                row.put(bytes).put(LINE_SEPARATOR).flip();
+                writeFully(csv, row, csv.size());
+                replayed++;
+            }
+        }
+        checkpoint();
+        logger.info("Replayed " + replayed + " of " + logged.size() + " logged submissions into " + csvPath);
+    }
+
+    // Reads the intact records and cuts the log after the last one
+    private List<String> readRecords() throws IOException {
+        long size = log.size();
+        List<String> lines = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        long position = 0;
+        while (position + RECORD_HEADER <= size) {
+            header.clear();
+            readFully(log, header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 0 || length > MAX_LINE_BYTES || position + RECORD_HEADER + length > size) break;
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(log, payload, position + RECORD_HEADER);
+            if (crc(payload.array(), length) != checksum) break;
+            lines.add(new String(payload.array(), StandardCharsets.UTF_8));
+            position += RECORD_HEADER + length;
+        }
+        if (position < size) {
+            logger.warn("Discarding " + (size - position) + " bytes of incomplete submission log after record " + lines.size());
+            log.truncate(position);
+            log.force(false);
+        }
+        return lines;
+    }
+
+    /*
+     * Appends to the CSV must start on a new line. If the CSV ends part-way through a
+     * line that is the start of a logged submission, a crash interrupted that line and
+     * it is removed; any other unterminated last line is kept and terminated.
+     */
+    private void endWithNewline(List<String> logged) throws IOException {
+        long size = csv.size();
+        if (size == 0) return;
+        ByteBuffer last = ByteBuffer.allocate(1);
+        readFully(csv, last, size - 1);
+        if (last.get(0) == '\n') return;
+
+        if (logged != null) {
+            long lineStart = size;
+            ByteBuffer one = ByteBuffer.allocate(1);
+            while (lineStart > 0) {
+                one.clear();
+                readFully(csv, one, lineStart - 1);
+                if (one.get(0) == '\n') break;
+                lineStart--;
+            }
+            ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size - lineStart, MAX_LINE_BYTES));
+            readFully(csv, tail, lineStart);
+            String torn = new String(tail.array(), 0, tail.position(), StandardCharsets.UTF_8);
+            for (String line : logged) {
+                if (line.startsWith(torn)) {
+                    logger.warn("Removing interrupted CSV line: " + torn);
+                    csv.truncate(lineStart);
+                    return;
+                }
+            }
+        }
+        writeFully(csv, ByteBuffer.wrap(LINE_SEPARATOR), size);
+    }
+
+    // A log record for one CSV line
+    static ByteBuffer encodeRecord(String line) {
+        return encodeRecord(line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer encodeRecord(byte[] line) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + line.length);
+        record.putInt(line.length).putInt(crc(line, line.length)).put(line).flip();
+        return record;
+    }
+
+    private static int crc(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new EOFException();
+            position += read;
+        }
+    }
+
+    /**
+     * Waits for the commit in progress, makes the CSV durable, empties the log and
+     * closes both files. Later submissions to the same CSV open a new log.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            while (committing) {
+                try {
+                    committed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted closing submission log");
+                }
+            }
+            if (closed) return;
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        synchronized (SubmissionLog.class) {
+            OPEN.remove(csvPath, this);
+        }
+        try {
+            if (failure == null) checkpoint();
+        } finally {
+            try {
+                csv.close();
+            } finally {
+                log.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package teamate;
+
+import java.util.*;
+
+/**
+ * Outcome of saving a batch of survey submissions: how many were submitted, how
+ * many reached the CSV, and the error for each participant that did not.
+ */
+public final class SurveyBatchResult {
+    private final int submitted;
+    private final Map<Integer, Throwable> failures;
+    private final long elapsedMillis;
+
+    public SurveyBatchResult(int submitted, Map<Integer, Throwable> failures, long elapsedMillis) {
+        this.submitted = submitted;
+        this.failures = Collections.unmodifiableMap(new TreeMap<>(failures));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getSubmitted() { return submitted; }
+    public int getSaved() { return submitted - failures.size(); }
+
+    // Position in the submitted list to the error that stopped that participant being saved, in order
+    public Map<Integer, Throwable> getFailures() { return failures; }
+    public boolean isSuccessful() { return failures.isEmpty(); }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("Saved %d of %d submissions in %d ms (%d failed)",
+                getSaved(), submitted, elapsedMillis, failures.size());
+    }
+}
@@ -0,0 +1,132 @@
+package teamate;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs personality surveys over TCP, one session per connection, each on its own
+ * virtual thread. A session is the console survey with the socket as input and
+ * output; a blocked read parks the virtual thread, so thousands of sessions
+ * waiting on answers hold no platform threads. All sessions share the
+ * participant registry and the submission log of the CSV file.
+ * <p>
+ * After a survey the server writes "SAVED &lt;id&gt;" on its own line, or
+ * "FAILED &lt;reason&gt;" if the submission could not be saved, and closes the
+ * connection.
+ */
+public class SurveyIntakeServer implements Closeable {
+    // Pending connections the OS may queue before accept; the kernel may cap it lower
+    private static final int BACKLOG = 4096;
+
+    private final Logger logger = Logger.getInstance();
+    private final String csvPath;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger saved = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger abandoned = new AtomicInteger();
+
+    /**
+     * Binds to the port (0 picks a free one) and replays any submissions an
+     * earlier run left in the log. Call {@link #start} to accept connections.
+     */
+    public SurveyIntakeServer(String csvPath, int port) throws IOException {
+        this.csvPath = csvPath;
+        SubmissionLog.forCsv(csvPath);
+        ParticipantRegistry.forCsv(csvPath);
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(port), BACKLOG);
+    }
+
+    public void start() {
+        Thread.ofVirtual().name("survey-accept").start(this::acceptLoop);
+        logger.info("Survey intake server listening on port " + getPort() + " for " + csvPath);
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.submit(() -> runSession(socket));
+            } catch (SocketException e) {
+                break; // closed
+            } catch (IOException e) {
+                logger.error("Error accepting survey connection", e);
+            }
+        }
+    }
+
+    private void runSession(Socket socket) {
+        active.incrementAndGet();
+        try (Socket s = socket) {
+            // Prompts are buffered and sent when the survey next waits for an answer
+            PrintStream out = new PrintStream(new BufferedOutputStream(s.getOutputStream()), false,
+                    StandardCharsets.UTF_8);
+            Scanner in = new Scanner(new FilterInputStream(s.getInputStream()) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    out.flush();
+                    return super.read(b, off, len);
+                }
+            }, StandardCharsets.UTF_8);
+            try {
+                Participant participant = new PersonalitySurvey(in, out).conductSurvey(csvPath);
+                out.println();
+                out.println("SAVED " + participant.getId());
+                saved.incrementAndGet();
+            } catch (NoSuchElementException | IllegalStateException e) {
+                abandoned.incrementAndGet(); // the client disconnected mid-survey
+                logger.debug("Survey session abandoned: {}", s.getRemoteSocketAddress());
+            } catch (RuntimeException e) {
+                out.println();
+                out.println("FAILED " + e.getMessage());
+                failed.incrementAndGet();
+            }
+            out.flush();
+        } catch (IOException e) {
+            logger.error("Survey session error", e);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    public int getPort() { return serverSocket.getLocalPort(); }
+    public int getActiveSessions() { return active.get(); }
+    public int getSavedSessions() { return saved.get(); }
+    public int getFailedSessions() { return failed.get(); }
+    public int getAbandonedSessions() { return abandoned.get(); }
+
+    @Override
+    public String toString() {
+        return String.format("Survey sessions - saved: %d, failed: %d, abandoned: %d, active: %d",
+                getSavedSessions(), getFailedSessions(), getAbandonedSessions(), getActiveSessions());
+    }
+
+    /**
+     * Stops accepting connections and ends the sessions still in progress; their
+     * surveys are abandoned, not saved.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+        try {
+            sessions.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Survey intake server stopped. " + this);
+    }
+}
@@ -1,12 +1,18 @@
 package teamate;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.concurrent.*;
 
 public class SurveyManager {
+    // Participants saved together in one log commit
+    static final int BATCH_SIZE = 256;
+    // Batches queued or running at once; submitting more waits for one to finish
+    static final int MAX_IN_FLIGHT_BATCHES = 16;
+
     private final Logger logger = Logger.getInstance();
-    private final Scanner sc = new Scanner(System.in);
 
     private static int lastParticipantId = 100;
 
@@ -17,51 +23,89 @@ public class SurveyManager {
         return survey.conductSurvey(filePath);  // Polymorphic call
     }
 
-    // Method to process the survey data in parallel for multiple participants using Thread
-    public void processSurveyDataInParallel(String filePath, List<Participant> participants) {
-        logger.info("Processing survey data in parallel for " + participants.size() + " participants");
-
-        for (Participant participant : participants) {
-            Thread thread = new Thread(new SurveyTask(participant, filePath));  // Create a new thread for each participant
-            thread.start();  // Start the thread
-        }
+    /**
+     * Saves a batch of survey submissions on a bounded pool of worker threads,
+     * which is shut down once the batch is done.
+     */
+    public CompletableFuture<SurveyBatchResult> processSurveyDataInParallel(String filePath, List<Participant> participants) {
+        int workers = Math.min(Runtime.getRuntime().availableProcessors(), MAX_IN_FLIGHT_BATCHES);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        CompletableFuture<SurveyBatchResult> result = processSurveyDataInParallel(filePath, participants, pool);
+        result.whenComplete((r, e) -> pool.shutdown());
+        return result;
     }
 
-    // A Runnable class for processing each survey
-    static class SurveyTask implements Runnable {
-        private final Participant participant;
-        private final String filePath;
-        private final Logger logger = Logger.getInstance();
-
-        public SurveyTask(Participant participant, String filePath) {
-            this.participant = participant;
-            this.filePath = filePath;
-        }
+    /**
+     * Saves a batch of survey submissions on the given executor, for example one
+     * running virtual threads. Participants are split into batches of BATCH_SIZE,
+     * each appended to the CSV with one log commit. At most MAX_IN_FLIGHT_BATCHES
+     * are handed to the executor at once, so this call blocks while the executor
+     * is behind. The future completes when every batch is done; failed
+     * participants are listed in the result rather than failing the future.
+     */
+    public CompletableFuture<SurveyBatchResult> processSurveyDataInParallel(String filePath, List<Participant> participants,
+                                                                            Executor executor) {
+        logger.info("Processing survey data in parallel for " + participants.size() + " participants");
+        long start = System.nanoTime();
+        Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT_BATCHES);
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
 
-        @Override
-        public void run() {
+        for (int from = 0; from < participants.size(); from += BATCH_SIZE) {
+            List<Participant> batch = new ArrayList<>(participants.subList(from, Math.min(from + BATCH_SIZE, participants.size())));
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int i = from; i < participants.size(); i++) failures.put(i, e);
+                break;
+            }
+            int offset = from;
             try {
-                // Process the participant's survey data here (e.g., save to file, calculate scores)
-                System.out.println("Processing survey data for participant: " + participant.getName());
-                logger.debug("Processing survey data for participant: " + participant.getId());
+                batches.add(CompletableFuture.runAsync(() -> saveBatch(filePath, batch, offset, failures), executor)
+                        .whenComplete((v, e) -> inFlight.release()));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                addFailures(failures, batch, offset, e);
+            }
+        }
 
-                // Example: Process data or save it to the CSV
-                SurveyManager surveyManager = new SurveyManager();
-                surveyManager.saveParticipantToCSV(participant, filePath);
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            SurveyBatchResult result = new SurveyBatchResult(participants.size(), failures,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            logger.info(result.toString());
+            return result;
+        });
+    }
 
-                logger.debug("Completed processing for participant: " + participant.getId());
-            } catch (Exception e) {
-                logger.error("Error processing survey data for participant: " + participant.getId(), e);
-            }
+    // Saves participants[offset, offset + batch.size()) with one log commit
+    private void saveBatch(String filePath, List<Participant> batch, int offset, Map<Integer, Throwable> failures) {
+        try {
+            SubmissionLog.forCsv(filePath).appendAll(batch);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error saving " + batch.size() + " participants from " + batch.get(0).getId(), e);
+            addFailures(failures, batch, offset, e);
+            return;
         }
+        try {
+            ParticipantRegistry.forCsv(filePath).registerAll(batch);
+        } catch (IOException e) {
+            logger.error("Error updating participant registry for " + filePath, e);
+        }
+        logger.debug("Saved survey batch starting at participant: {}", batch.get(0).getId());
+    }
+
+    // Keyed by position in the submitted list, so participants sharing an ID (or without one) each count
+    private static void addFailures(Map<Integer, Throwable> failures, List<Participant> batch, int offset, Throwable e) {
+        for (int i = 0; i < batch.size(); i++) failures.put(offset + i, e);
     }
 
-    // Save participant data (you may already have this method)
+    // Save participant data through the shared submission log for the CSV
     public void saveParticipantToCSV(Participant participant, String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath, true))) {
-            bw.write(participant.toCSVForParticipant());  // Assuming Participant class has toCSVForParticipant()
-            bw.newLine();
-            logger.debug("Participant saved to CSV: " + participant.getId());
+        try {
+            SubmissionLog.forCsv(filePath).append(participant);
+            ParticipantRegistry.forCsv(filePath).register(participant);
+            logger.debug("Participant saved to CSV: {}", participant.getId());
         } catch (IOException e) {
             logger.error("Error saving participant to CSV: " + participant.getId(), e);
             System.err.println("Error saving participant to CSV: " + e.getMessage());
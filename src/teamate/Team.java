@@ -1,18 +1,96 @@
 package teamate;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Team {
     private final int teamID;
     private final List<Participant> members = new ArrayList<>();
+    private final List<Participant> memberView = new MemberList();
+
+    // Running aggregates kept in step with members, so constraint checks are O(1).
+    // Counters are indexed by Game, Role and PersonalityType ordinal.
+    private int[] gameCounts = new int[0];
+    private int[] roleCounts = new int[0];
+    private final int[] personalityCounts = new int[PersonalityType.values().length];
+    private int distinctRoles;
+    private long skillSum;
 
     public Team(int teamID) { this.teamID = teamID; }
 
     public int getTeamID() { return teamID; }
-    public List<Participant> getMembers() { return members; }
+    public List<Participant> getMembers() { return memberView; }
     public int size() { return members.size(); }
-    public void addMember(Participant p) { members.add(p); }
+    public void addMember(Participant p) { memberView.add(p); }
+
+    // Number of members whose preferred game is the given game
+    public int countGame(Game game) { return game != null && game.ordinal() < gameCounts.length ? gameCounts[game.ordinal()] : 0; }
+    public int countGame(String game) { return countGame(Game.find(game)); }
+
+    // Number of members with the given preferred role
+    public int countRole(Role role) { return role != null && role.ordinal() < roleCounts.length ? roleCounts[role.ordinal()] : 0; }
+    public int countRole(String role) { return countRole(Role.find(role)); }
+
+    // Number of distinct preferred roles in the team
+    public int distinctRoles() { return distinctRoles; }
+
+    // Number of members with the given personality type
+    public int countPersonality(PersonalityType type) { return type == null ? 0 : personalityCounts[type.ordinal()]; }
+    public int countPersonality(String type) { return countPersonality(PersonalityType.fromLabel(type)); }
+
+    public long getSkillSum() { return skillSum; }
+
+    public double getAverageSkill() { return members.isEmpty() ? 0 : (double) skillSum / members.size(); }
+
+    /**
+     * Rebuild the aggregates from the current members.
+     * Needed only when a member's details were edited after joining the team.
+     */
+    public void recalculateAggregates() {
+        resetAggregates();
+        for (Participant p : members) count(p);
+    }
+
+    private void resetAggregates() {
+        Arrays.fill(gameCounts, 0);
+        Arrays.fill(roleCounts, 0);
+        Arrays.fill(personalityCounts, 0);
+        distinctRoles = 0;
+        skillSum = 0;
+    }
+
+    private void count(Participant p) {
+        Game game = p.getGame();
+        if (game != null) {
+            if (game.ordinal() >= gameCounts.length) gameCounts = grow(gameCounts, game.ordinal());
+            gameCounts[game.ordinal()]++;
+        }
+        Role role = p.getPreferredRole();
+        if (role != null) {
+            if (role.ordinal() >= roleCounts.length) roleCounts = grow(roleCounts, role.ordinal());
+            if (roleCounts[role.ordinal()]++ == 0) distinctRoles++;
+        }
+        PersonalityType type = p.getPersonality();
+        if (type != null) personalityCounts[type.ordinal()]++;
+        skillSum += p.getSkillLevel();
+    }
+
+    private void uncount(Participant p) {
+        Game game = p.getGame();
+        if (game != null && countGame(game) > 0) gameCounts[game.ordinal()]--;
+        Role role = p.getPreferredRole();
+        if (role != null && countRole(role) > 0 && --roleCounts[role.ordinal()] == 0) distinctRoles--;
+        PersonalityType type = p.getPersonality();
+        if (type != null && personalityCounts[type.ordinal()] > 0) personalityCounts[type.ordinal()]--;
+        skillSum -= p.getSkillLevel();
+    }
+
+    // Sized for every name registered so far, so a team rarely grows twice
+    private static int[] grow(int[] counts, int ordinal) {
+        return Arrays.copyOf(counts, Math.max(ordinal + 1, Math.max(Game.count(), Role.count())));
+    }
 
     public String toCSVLines() {
         StringBuilder sb = new StringBuilder();
@@ -26,4 +104,47 @@ public class Team {
         for (Participant p : members) sb.append("  - ").append(p.toString()).append("\n");
         return sb.toString();
     }
+
+    /**
+     * Live view of the members returned by getMembers().
+     * Every mutation goes through here so the aggregates never drift,
+     * including the rollback path that calls getMembers().clear().
+     */
+    private class MemberList extends AbstractList<Participant> {
+        @Override
+        public Participant get(int index) { return members.get(index); }
+
+        @Override
+        public int size() { return members.size(); }
+
+        @Override
+        public void add(int index, Participant p) {
+            members.add(index, p);
+            count(p);
+            modCount++;
+        }
+
+        @Override
+        public Participant set(int index, Participant p) {
+            Participant old = members.set(index, p);
+            uncount(old);
+            count(p);
+            return old;
+        }
+
+        @Override
+        public Participant remove(int index) {
+            Participant old = members.remove(index);
+            uncount(old);
+            modCount++;
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            members.clear();
+            resetAggregates();
+            modCount++;
+        }
+    }
 }
@@ -1,35 +1,88 @@
 package teamate;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Fixed EnhancedTeamBuilder - ensures each participant is only in one team
  */
 public class TeamBuilder {
     private final List<Participant> participants;
+    private final ParticipantTable table; // set when forming from table rows; participants is then its view list
     private final int teamSize;
+    private final ForkJoinPool pool; // null = sequential formation
+    private final TeamConstraints constraints;
     private final Logger logger = Logger.getInstance();
 
-    // Balance constraints from requirements
-    private static final int MAX_PER_GAME = 2;
-    private static final int MIN_ROLES = 3;
-    private static final int MAX_THINKERS = 2;
-    private static final int REQUIRED_LEADERS = 1;
+    // Smallest shard worth handing to a worker in parallel mode
+    private static final int MIN_SHARD_SIZE = 1000;
+    // How often anytime formation reports progress
+    private static final Duration PROGRESS_INTERVAL = Duration.ofMillis(250);
 
     public TeamBuilder(List<Participant> participants, int teamSize) {
+        this(participants, teamSize, null);
+    }
+
+    /**
+     * Creates a builder that forms well-balanced teams in parallel on the given pool.
+     * Pass null for the sequential behaviour.
+     */
+    public TeamBuilder(List<Participant> participants, int teamSize, ForkJoinPool pool) {
+        this(participants, teamSize, pool, TeamConstraints.DEFAULT);
+    }
+
+    /**
+     * Creates a builder that applies the given balance rules instead of the defaults.
+     */
+    public TeamBuilder(List<Participant> participants, int teamSize, ForkJoinPool pool, TeamConstraints constraints) {
         // Create a DEEP COPY to avoid modifying original list
-        this.participants = participants != null ?
+        this(pool, participants != null ?
                 participants.stream().map(p -> createCopy(p)).collect(Collectors.toList()) :
-                new ArrayList<>();
+                new ArrayList<>(), teamSize, constraints);
+    }
+
+    /**
+     * Forms teams directly from the rows of a participant table, without copying.
+     * Well-balanced formation reads the columns by row index; row views are created
+     * only for the participants in the result. Pass null for sequential formation.
+     */
+    public TeamBuilder(ParticipantTable table, int teamSize, ForkJoinPool pool) {
+        this(pool, table.asList(), teamSize, TeamConstraints.DEFAULT, table);
+    }
+
+    private TeamBuilder(ForkJoinPool pool, List<Participant> participants, int teamSize, TeamConstraints constraints) {
+        this(pool, participants, teamSize, constraints, null);
+    }
+
+    // Takes ownership of the given list
+    private TeamBuilder(ForkJoinPool pool, List<Participant> participants, int teamSize, TeamConstraints constraints,
+                        ParticipantTable table) {
+        this.participants = participants;
+        this.table = table;
         this.teamSize = Math.max(1, teamSize);
-        logger.debug("TeamBuilder initialized with " + this.participants.size() + " participants, team size: " + teamSize);
+        this.pool = pool;
+        this.constraints = Objects.requireNonNull(constraints, "constraints");
+        logger.debug("TeamBuilder initialized with {} participants, team size: {}", this.participants.size(), teamSize);
+    }
+
+    /**
+     * Parallel team formation on the common fork-join pool
+     */
+    public static TeamBuilder parallel(List<Participant> participants, int teamSize) {
+        return new TeamBuilder(participants, teamSize, ForkJoinPool.commonPool());
     }
 
     /**
      * Create a copy of participant to avoid reference issues
      */
-    private Participant createCopy(Participant original) {
+    private static Participant createCopy(Participant original) {
         return new Participant(
                 original.getId(), original.getName(), original.getEmail(),
                 original.getInterest(), original.getSkillLevel(), original.getRole(),
@@ -42,56 +95,65 @@ public class TeamBuilder {
      * Main method that forms both well-balanced and secondary teams
      * WITHOUT duplicate participants
      */
-    public Map<String, Object> formAllTeams() {
+    public TeamFormationResult formAllTeams() {
         logger.info("Starting team formation for " + participants.size() + " participants, team size: " + teamSize);
-
-        Map<String, Object> result = new HashMap<>();
+        long startTime = System.nanoTime();
 
         if (participants.isEmpty()) {
             logger.warn("Team formation attempted with empty participant list");
-            result.put("wellBalanced", new ArrayList<Team>());
-            result.put("secondary", new ArrayList<Team>());
-            result.put("leftover", new ArrayList<Participant>());
-            return result;
+            return TeamFormationResult.empty();
         }
 
         // Log initial participant statistics
         logParticipantStatistics();
 
-        // Create working copies to avoid modifying original data
-        List<Participant> availableParticipants = new ArrayList<>(this.participants);
+        // Create working copies to avoid modifying original data; table rows are read in place
+        List<Participant> availableParticipants = table != null ? participants : new ArrayList<>(this.participants);
 
         // STEP 1: Form well-balanced teams with strict rules
-        Map<String, Object> balancedResult = formWellBalancedTeams(availableParticipants);
-        List<Team> wellBalanced = (List<Team>) balancedResult.get("teams");
-        List<Participant> leftover = (List<Participant>) balancedResult.get("leftover");
+        TeamFormationResult balancedResult = table != null ? formWellBalancedTeamsFromRows() :
+                pool != null ? formWellBalancedTeamsInParallel(availableParticipants) :
+                formWellBalancedTeams(availableParticipants, 1);
+        List<Team> wellBalanced = balancedResult.getWellBalancedTeams();
+        List<Participant> leftover = balancedResult.getLeftover();
 
         // STEP 2: Form secondary teams from leftovers
         List<Team> secondaryTeams = formSecondaryTeams(leftover);
 
         // STEP 3: Update leftover after secondary team formation
-        List<Participant> finalLeftover = getUnassignedParticipants(availableParticipants, wellBalanced, secondaryTeams);
-
-        result.put("wellBalanced", wellBalanced);
-        result.put("secondary", secondaryTeams);
-        result.put("leftover", finalLeftover);
+        TeamFormationResult result = TeamFormationResult.fromPool(availableParticipants, wellBalanced, secondaryTeams);
+        List<Participant> finalLeftover = result.getLeftover();
+        logger.debug("Unassigned participants: {}", finalLeftover.size());
 
         // VALIDATION: Ensure no duplicates
         validateNoDuplicates(wellBalanced, secondaryTeams);
 
         logger.info(String.format(
-                "Team formation completed - Well-balanced: %d, Secondary: %d, Leftover: %d",
-                wellBalanced.size(), secondaryTeams.size(), finalLeftover.size()
+                "Team formation completed - Well-balanced: %d, Secondary: %d, Leftover: %d, Mode: %s, Time: %d ms",
+                wellBalanced.size(), secondaryTeams.size(), finalLeftover.size(),
+                pool != null ? "parallel" : "sequential", (System.nanoTime() - startTime) / 1_000_000
         ));
 
         return result;
     }
 
     private void logParticipantStatistics() {
-        long leaders = participants.stream().filter(p -> "Leader".equals(p.getPersonalityType())).count();
-        long thinkers = participants.stream().filter(p -> "Thinker".equals(p.getPersonalityType())).count();
-        long balanced = participants.stream().filter(p -> "Balanced".equals(p.getPersonalityType())).count();
-        long undefined = participants.stream().filter(p -> "Undefined".equals(p.getPersonalityType())).count();
+        if (!logger.isDebugEnabled()) return;
+
+        int[] counts = new int[PersonalityType.values().length];
+        if (table != null) {
+            for (int row = 0; row < table.size(); row++) {
+                if (table.personalityOrdinal(row) >= 0) counts[table.personalityOrdinal(row)]++;
+            }
+        } else {
+            for (Participant p : participants) {
+                if (p.getPersonality() != null) counts[p.getPersonality().ordinal()]++;
+            }
+        }
+        int leaders = counts[PersonalityType.LEADER.ordinal()];
+        int thinkers = counts[PersonalityType.THINKER.ordinal()];
+        int balanced = counts[PersonalityType.BALANCED.ordinal()];
+        int undefined = counts[PersonalityType.UNDEFINED.ordinal()];
 
         logger.debug(String.format(
                 "Participant distribution - Leaders: %d, Thinkers: %d, Balanced: %d, Undefined: %d",
@@ -100,11 +162,68 @@ public class TeamBuilder {
     }
 
     /**
-     * Forms well-balanced teams with strict diversity rules
+     * Splits the valid participants into shards and forms well-balanced teams
+     * for each shard on the fork-join pool. Shards are striped (every n-th
+     * participant) so each keeps the overall game, role and personality mix.
      */
-    private Map<String, Object> formWellBalancedTeams(List<Participant> availableParticipants) {
+    private TeamFormationResult formWellBalancedTeamsInParallel(List<Participant> availableParticipants) {
+        List<Participant> validParticipants = availableParticipants.stream()
+                .filter(p -> (p != null) && p.isValid() && p.isEligibleForTeams())
+                .collect(Collectors.toList());
+
+        int shardCount = shardCount(validParticipants.size());
+        if (shardCount <= 1) {
+            logger.debug("Cohort too small to shard, forming well-balanced teams sequentially");
+            return formWellBalancedTeams(availableParticipants, 1);
+        }
+
+        List<List<Participant>> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>(validParticipants.size() / shardCount + 1));
+        }
+        for (int i = 0; i < validParticipants.size(); i++) {
+            shards.get(i % shardCount).add(validParticipants.get(i));
+        }
+        return formShards(shards.stream().mapToInt(List::size).toArray(),
+                (shard, firstTeamId) -> formWellBalancedTeams(shards.get(shard), firstTeamId));
+    }
+
+    private int shardCount(int validParticipants) {
+        return Math.min(pool.getParallelism(), validParticipants / MIN_SHARD_SIZE);
+    }
+
+    /**
+     * Runs the shard formations on the pool and merges their results in shard order.
+     * Each shard gets its own block of team IDs, sized for the teams it could form.
+     */
+    private TeamFormationResult formShards(int[] shardSizes,
+                                           BiFunction<Integer, Integer, TeamFormationResult> formShard) {
+        logger.debug("Forming well-balanced teams in {} shards", shardSizes.length);
+        List<ForkJoinTask<TeamFormationResult>> tasks = new ArrayList<>();
+        int firstTeamId = 1;
+        for (int shard = 0; shard < shardSizes.length; shard++) {
+            int index = shard, shardFirstId = firstTeamId;
+            tasks.add(pool.submit(() -> formShard.apply(index, shardFirstId)));
+            firstTeamId += shardSizes[shard] / teamSize;
+        }
+
+        List<Team> teams = new ArrayList<>();
+        List<Participant> leftover = new ArrayList<>();
+        for (ForkJoinTask<TeamFormationResult> task : tasks) {
+            TeamFormationResult shardResult = task.join();
+            teams.addAll(shardResult.getWellBalancedTeams());
+            leftover.addAll(shardResult.getLeftover());
+        }
+
+        return new TeamFormationResult(teams, Collections.emptyList(), leftover);
+    }
+
+    /**
+     * Forms well-balanced teams with strict diversity rules.
+     * The result has no secondary teams; everyone not placed is left over.
+     */
+    private TeamFormationResult formWellBalancedTeams(List<Participant> availableParticipants, int firstTeamId) {
         logger.debug("Forming well-balanced teams");
-        Map<String, Object> result = new HashMap<>();
         List<Team> teams = new ArrayList<>();
 
         // Filter valid participants
@@ -114,100 +233,229 @@ public class TeamBuilder {
 
         if (validParticipants.isEmpty()) {
             logger.warn("No valid participants available for well-balanced teams");
-            result.put("teams", teams);
-            result.put("leftover", new ArrayList<>(availableParticipants));
-            return result;
+            return new TeamFormationResult(teams, Collections.emptyList(), availableParticipants);
         }
 
-        logger.debug("Valid participants for well-balanced teams: " + validParticipants.size());
+        logger.debug("Valid participants for well-balanced teams: {}", validParticipants.size());
 
-        // Create a working pool that we'll remove from
-        List<Participant> workingPool = new ArrayList<>(validParticipants);
+        // Create a working pool that we'll remove from (O(1) contains/remove)
+        WorkingPool workingPool = new WorkingPool(validParticipants);
 
         // Categorize by personality type
-        List<Participant> leaders = workingPool.stream()
-                .filter(p -> "Leader".equals(p.getPersonalityType()))
+        List<Participant> leaders = validParticipants.stream()
+                .filter(p -> p.getPersonality() == PersonalityType.LEADER)
                 .collect(Collectors.toList());
-        List<Participant> thinkers = workingPool.stream()
-                .filter(p -> "Thinker".equals(p.getPersonalityType()))
+        List<Participant> thinkers = validParticipants.stream()
+                .filter(p -> p.getPersonality() == PersonalityType.THINKER)
                 .collect(Collectors.toList());
-        List<Participant> balanced = workingPool.stream()
-                .filter(p -> "Balanced".equals(p.getPersonalityType()))
+        List<Participant> balanced = validParticipants.stream()
+                .filter(p -> p.getPersonality() == PersonalityType.BALANCED)
                 .collect(Collectors.toList());
 
         // Calculate maximum possible teams
         int maxTeams = validParticipants.size() / teamSize;
         for (int i = 0; i < maxTeams; i++) {
-            teams.add(new Team(i + 1));
+            teams.add(new Team(firstTeamId + i));
         }
 
         if (teams.isEmpty()) {
             logger.warn("No teams could be formed due to insufficient participants");
-            result.put("teams", teams);
-            result.put("leftover", workingPool);
-            return result;
+            return new TeamFormationResult(teams, Collections.emptyList(), workingPool.toList());
         }
 
-        logger.debug("Attempting to form " + maxTeams + " well-balanced teams");
+        logger.debug("Attempting to form {} well-balanced teams", maxTeams);
 
-        // PHASE 1: Assign leaders (1 per team)
-        for (int i = 0; i < Math.min(leaders.size(), teams.size()); i++) {
+        // PHASE 1: Assign leaders (1 per team, unless the rules allow none)
+        int leadersToAssign = constraints.getMaxLeaders() > 0 ? Math.min(leaders.size(), teams.size()) : 0;
+        for (int i = 0; i < leadersToAssign; i++) {
             Participant leader = leaders.get(i);
             teams.get(i).addMember(leader);
             workingPool.remove(leader); // REMOVE from available pool
         }
-        logger.debug("Assigned " + Math.min(leaders.size(), teams.size()) + " leaders");
+        logger.debug("Assigned {} leaders", leadersToAssign);
 
         // PHASE 2: Assign thinkers (1-2 per team)
+        int firstThinker = 0; // thinkers before this one are all placed
         for (Team team : teams) {
-            int thinkersNeeded = Math.min(MAX_THINKERS, teamSize - team.size());
+            int thinkersNeeded = Math.min(constraints.getMaxThinkers(), teamSize - team.size());
             for (int i = 0; i < thinkersNeeded; i++) {
-                Participant thinker = findCompatibleThinker(thinkers, team, workingPool);
+                while (firstThinker < thinkers.size() && !workingPool.contains(thinkers.get(firstThinker))) firstThinker++;
+                Participant thinker = findCompatibleThinker(thinkers, firstThinker, team, workingPool);
                 if (thinker != null) {
                     team.addMember(thinker);
                     workingPool.remove(thinker); // REMOVE from available pool
-                    thinkers.remove(thinker); // REMOVE from thinkers list
                 }
             }
         }
         logger.debug("Assigned thinkers to teams");
 
-        // PHASE 3: Fill with balanced participants
-        List<Participant> balancedCopy = new ArrayList<>(balanced);
-        for (Participant p : balancedCopy) {
+        // PHASE 3: Fill with balanced participants, closest average skill first
+        TeamSkillIndex skillIndex = new TeamSkillIndex(teams, teamSize);
+        for (Participant p : balanced) {
             if (!workingPool.contains(p)) continue; // Skip if already assigned
 
-            Team bestTeam = findValidTeam(p, teams, workingPool);
-            if (bestTeam != null) {
-                bestTeam.addMember(p);
+            int best = skillIndex.findBestFit(p.getSkillLevel(), t -> constraints.fits(t, p));
+            if (best >= 0) {
+                teams.get(best).addMember(p);
+                skillIndex.refresh(best);
                 workingPool.remove(p); // REMOVE from available pool
             }
         }
         logger.debug("Filled teams with balanced participants");
 
         // Remove incomplete teams and return their members to the pool
+        List<Participant> leftover = workingPool.toList();
         List<Team> completeTeams = new ArrayList<>();
         for (Team team : teams) {
             if (team.size() == teamSize) {
                 completeTeams.add(team);
             } else {
                 // Return members of incomplete teams back to pool
-                workingPool.addAll(team.getMembers());
+                leftover.addAll(team.getMembers());
                 team.getMembers().clear();
             }
         }
 
-        logger.debug("Well-balanced team formation completed - Complete teams: " + completeTeams.size());
-        result.put("teams", completeTeams);
-        result.put("leftover", workingPool);
-        return result;
+        logger.debug("Well-balanced team formation completed - Complete teams: {}", completeTeams.size());
+        return new TeamFormationResult(completeTeams, Collections.emptyList(), leftover);
+    }
+
+    /**
+     * Well-balanced formation over the table's rows, sharded like
+     * formWellBalancedTeamsInParallel when a pool is set.
+     */
+    private TeamFormationResult formWellBalancedTeamsFromRows() {
+        int[] allRows = IntStream.range(0, table.size()).toArray();
+        if (pool == null) return formWellBalancedTeams(allRows, 1);
+
+        int[] validRows = Arrays.stream(allRows).filter(table::isEligibleForTeams).toArray();
+        int shardCount = shardCount(validRows.length);
+        if (shardCount <= 1) {
+            logger.debug("Cohort too small to shard, forming well-balanced teams sequentially");
+            return formWellBalancedTeams(allRows, 1);
+        }
+
+        int[][] shards = new int[shardCount][];
+        int[] shardSizes = new int[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards[shard] = IntStream.iterate(shard, i -> i < validRows.length, i -> i + shardCount)
+                    .map(i -> validRows[i]).toArray();
+            shardSizes[shard] = shards[shard].length;
+        }
+        return formShards(shardSizes, (shard, firstTeamId) -> formWellBalancedTeams(shards[shard], firstTeamId));
+    }
+
+    /**
+     * formWellBalancedTeams(List, int) on table rows: the same phases and choices,
+     * with teams kept as counters (RowTeams) so that only the rows placed in a
+     * complete team or left over become Participant views.
+     */
+    private TeamFormationResult formWellBalancedTeams(int[] rows, int firstTeamId) {
+        logger.debug("Forming well-balanced teams");
+
+        // Positions below index this array of eligible rows
+        int[] valid = Arrays.stream(rows).filter(table::isEligibleForTeams).toArray();
+        if (valid.length == 0) {
+            logger.warn("No valid participants available for well-balanced teams");
+            return new TeamFormationResult(Collections.emptyList(), Collections.emptyList(), views(rows));
+        }
+
+        logger.debug("Valid participants for well-balanced teams: {}", valid.length);
+
+        BitSet available = new BitSet(valid.length);
+        available.set(0, valid.length);
+
+        // Categorize by personality type
+        int[] leaders = positionsOf(valid, PersonalityType.LEADER);
+        int[] thinkers = positionsOf(valid, PersonalityType.THINKER);
+        int[] balanced = positionsOf(valid, PersonalityType.BALANCED);
+
+        int maxTeams = valid.length / teamSize;
+        if (maxTeams == 0) {
+            logger.warn("No teams could be formed due to insufficient participants");
+            return new TeamFormationResult(Collections.emptyList(), Collections.emptyList(), views(valid));
+        }
+
+        logger.debug("Attempting to form {} well-balanced teams", maxTeams);
+        RowTeams teams = new RowTeams(table, maxTeams, teamSize);
+
+        // PHASE 1: Assign leaders (1 per team, unless the rules allow none)
+        int leadersToAssign = constraints.getMaxLeaders() > 0 ? Math.min(leaders.length, maxTeams) : 0;
+        for (int i = 0; i < leadersToAssign; i++) {
+            teams.add(i, valid[leaders[i]]);
+            available.clear(leaders[i]);
+        }
+        logger.debug("Assigned {} leaders", leadersToAssign);
+
+        // PHASE 2: Assign thinkers (1-2 per team), first compatible one in order
+        int firstThinker = 0; // thinkers before this one are all placed
+        for (int team = 0; team < maxTeams; team++) {
+            int thinkersNeeded = Math.min(constraints.getMaxThinkers(), teamSize - teams.size(team));
+            for (int i = 0; i < thinkersNeeded; i++) {
+                while (firstThinker < thinkers.length && !available.get(thinkers[firstThinker])) firstThinker++;
+                for (int k = firstThinker; k < thinkers.length; k++) {
+                    int row = valid[thinkers[k]];
+                    if (available.get(thinkers[k])
+                            && constraints.allowsGame(teams.countGame(team, row))
+                            && constraints.helpsRoleDiversity(teams.distinctRoles(team), teams.countRole(team, row))) {
+                        teams.add(team, row);
+                        available.clear(thinkers[k]);
+                        break;
+                    }
+                }
+            }
+        }
+        logger.debug("Assigned thinkers to teams");
+
+        // PHASE 3: Fill with balanced participants, closest average skill first
+        TeamSkillIndex skillIndex = new TeamSkillIndex(maxTeams, teamSize, teams::size, teams::skillSum);
+        for (int position : balanced) {
+            int row = valid[position];
+            int best = skillIndex.findBestPosition(table.skillLevel(row), team -> teams.fits(team, row, constraints));
+            if (best >= 0) {
+                teams.add(best, row);
+                skillIndex.refresh(best);
+                available.clear(position);
+            }
+        }
+        logger.debug("Filled teams with balanced participants");
+
+        // Remove incomplete teams and return their members to the pool
+        List<Participant> leftover = new ArrayList<>(available.cardinality());
+        for (int i = available.nextSetBit(0); i >= 0; i = available.nextSetBit(i + 1)) {
+            leftover.add(table.get(valid[i]));
+        }
+        List<Team> completeTeams = new ArrayList<>();
+        for (int team = 0; team < maxTeams; team++) {
+            if (teams.size(team) == teamSize) {
+                completeTeams.add(teams.toTeam(team, firstTeamId + team));
+            } else {
+                leftover.addAll(teams.memberViews(team));
+            }
+        }
+
+        logger.debug("Well-balanced team formation completed - Complete teams: {}", completeTeams.size());
+        return new TeamFormationResult(completeTeams, Collections.emptyList(), leftover);
+    }
+
+    // Positions in valid of the rows with the given personality type, in order
+    private int[] positionsOf(int[] valid, PersonalityType type) {
+        return IntStream.range(0, valid.length)
+                .filter(i -> table.personalityOrdinal(valid[i]) == type.ordinal())
+                .toArray();
+    }
+
+    private List<Participant> views(int[] rows) {
+        List<Participant> views = new ArrayList<>(rows.length);
+        for (int row : rows) views.add(table.get(row));
+        return views;
     }
 
     /**
      * Forms secondary teams from leftover participants
      */
     private List<Team> formSecondaryTeams(List<Participant> leftover) {
-        logger.debug("Forming secondary teams from " + leftover.size() + " leftover participants");
+        logger.debug("Forming secondary teams from {} leftover participants", leftover.size());
         List<Team> secondaryTeams = new ArrayList<>();
         List<Participant> temp = new ArrayList<>(leftover);
         Collections.shuffle(temp);
@@ -223,31 +471,10 @@ public class TeamBuilder {
             temp.subList(0, teamSize).clear(); // REMOVE assigned participants
         }
 
-        logger.debug("Secondary teams formed: " + secondaryTeams.size());
+        logger.debug("Secondary teams formed: {}", secondaryTeams.size());
         return secondaryTeams;
     }
 
-    /**
-     * Get truly unassigned participants after all team formation
-     */
-    private List<Participant> getUnassignedParticipants(List<Participant> originalPool,
-                                                        List<Team> wellBalanced,
-                                                        List<Team> secondary) {
-        List<Participant> allAssigned = new ArrayList<>();
-
-        // Collect all assigned participants
-        wellBalanced.forEach(team -> allAssigned.addAll(team.getMembers()));
-        secondary.forEach(team -> allAssigned.addAll(team.getMembers()));
-
-        // Return participants not in any team
-        List<Participant> unassigned = originalPool.stream()
-                .filter(p -> !allAssigned.contains(p))
-                .collect(Collectors.toList());
-
-        logger.debug("Unassigned participants: " + unassigned.size());
-        return unassigned;
-    }
-
     /**
      * Validate that no participant is in multiple teams
      */
@@ -282,82 +509,173 @@ public class TeamBuilder {
 
     // ========== UPDATED HELPER METHODS ==========
 
-    private Team findValidTeam(Participant p, List<Team> teams, List<Participant> availablePool) {
-        if (!availablePool.contains(p)) return null; // Only consider available participants
-
-        return teams.stream()
-                .filter(t -> t.size() < teamSize)
-                .filter(t -> countGame(t, p.getInterest()) < MAX_PER_GAME)
-                .filter(t -> helpsRoleDiversity(t, p))
-                .filter(t -> isPersonalityCompatible(t, p))
-                .min(Comparator.comparingInt(t -> evaluateSkillFit(t, p)))
-                .orElse(null);
+    // First available thinker from the given position on that suits the team, or null
+    private Participant findCompatibleThinker(List<Participant> thinkers, int from, Team team, WorkingPool availablePool) {
+        for (int i = from; i < thinkers.size(); i++) {
+            Participant t = thinkers.get(i);
+            if (availablePool.contains(t) // Only available thinkers
+                    && constraints.allowsGame(team, t)
+                    && constraints.helpsRoleDiversity(team, t)) {
+                return t;
+            }
+        }
+        return null;
     }
 
-    private Participant findCompatibleThinker(List<Participant> thinkers, Team team, List<Participant> availablePool) {
-        return thinkers.stream()
-                .filter(t -> availablePool.contains(t)) // Only available thinkers
-                .filter(t -> countGame(team, t.getInterest()) < MAX_PER_GAME)
-                .filter(t -> helpsRoleDiversity(team, t))
-                .findFirst()
-                .orElse(null);
-    }
+    /**
+     * Pool of participants still available during well-balanced formation.
+     * Participants are indexed by their position in the valid list, so
+     * membership checks and removals are O(1) and iteration keeps the original order.
+     */
+    private static final class WorkingPool {
+        private final List<Participant> ordered;
+        private final Map<Participant, Integer> ordinals = new IdentityHashMap<>();
+        private final BitSet available;
+
+        WorkingPool(List<Participant> participants) {
+            this.ordered = participants;
+            this.available = new BitSet(participants.size());
+            for (int i = 0; i < participants.size(); i++) {
+                ordinals.put(participants.get(i), i);
+            }
+            available.set(0, participants.size());
+        }
 
-    private boolean helpsRoleDiversity(Team t, Participant p) {
-        Set<String> roles = t.getMembers().stream()
-                .map(Participant::getRole)
-                .collect(Collectors.toSet());
-        return roles.size() >= MIN_ROLES || !roles.contains(p.getRole());
-    }
+        boolean contains(Participant p) {
+            Integer i = ordinals.get(p);
+            return i != null && available.get(i);
+        }
 
-    private boolean isPersonalityCompatible(Team team, Participant p) {
-        int leaders = countLeaders(team);
-        int thinkers = countThinkers(team);
+        void remove(Participant p) {
+            Integer i = ordinals.get(p);
+            if (i != null) available.clear(i);
+        }
 
-        if ("Leader".equals(p.getPersonalityType())) {
-            return leaders < REQUIRED_LEADERS;
-        } else if ("Thinker".equals(p.getPersonalityType())) {
-            return thinkers < MAX_THINKERS;
+        // Remaining participants in their original order
+        List<Participant> toList() {
+            List<Participant> remaining = new ArrayList<>(available.cardinality());
+            for (int i = available.nextSetBit(0); i >= 0; i = available.nextSetBit(i + 1)) {
+                remaining.add(ordered.get(i));
+            }
+            return remaining;
         }
-        return true;
     }
 
-    private int countLeaders(Team t) {
-        return (int) t.getMembers().stream()
-                .filter(m -> "Leader".equals(m.getPersonalityType()))
-                .count();
-    }
+    /**
+     * Teams under well-balanced formation from table rows, as counters.
+     * Holds what Team's aggregates hold, indexed by team position and the
+     * table's Game, Role and PersonalityType ordinals.
+     */
+    private static final class RowTeams {
+        private final ParticipantTable table;
+        private final int teamSize;
+        private final int games;
+        private final int roles;
+        private final int[] members;    // team * teamSize + slot -> row
+        private final int[] sizes;
+        private final long[] skillSums;
+        private final int[] gameCounts; // team * games + game ordinal
+        private final int[] roleCounts; // team * roles + role ordinal
+        private final int[] distinctRoles;
+        private final int[] leaders;
+        private final int[] thinkers;
+
+        RowTeams(ParticipantTable table, int teamCount, int teamSize) {
+            this.table = table;
+            this.teamSize = teamSize;
+            this.games = Game.count();
+            this.roles = Role.count();
+            this.members = new int[teamCount * teamSize];
+            this.sizes = new int[teamCount];
+            this.skillSums = new long[teamCount];
+            this.gameCounts = new int[teamCount * games];
+            this.roleCounts = new int[teamCount * roles];
+            this.distinctRoles = new int[teamCount];
+            this.leaders = new int[teamCount];
+            this.thinkers = new int[teamCount];
+        }
 
-    private int countThinkers(Team t) {
-        return (int) t.getMembers().stream()
-                .filter(m -> "Thinker".equals(m.getPersonalityType()))
-                .count();
-    }
+        int size(int team) { return sizes[team]; }
+        long skillSum(int team) { return skillSums[team]; }
+        int distinctRoles(int team) { return distinctRoles[team]; }
+
+        // Members sharing the row's game or role; 0 when the row has none, as in Team
+        int countGame(int team, int row) {
+            int game = table.gameOrdinal(row);
+            return game < 0 ? 0 : gameCounts[team * games + game];
+        }
+
+        int countRole(int team, int row) {
+            int role = table.roleOrdinal(row);
+            return role < 0 ? 0 : roleCounts[team * roles + role];
+        }
+
+        // TeamConstraints.fits for the row
+        boolean fits(int team, int row, TeamConstraints constraints) {
+            int type = table.personalityOrdinal(row);
+            return constraints.allowsGame(countGame(team, row))
+                    && constraints.helpsRoleDiversity(distinctRoles[team], countRole(team, row))
+                    && constraints.isPersonalityCompatible(type < 0 ? null : PersonalityClassifier.typeOf((byte) type),
+                    leaders[team], thinkers[team]);
+        }
+
+        void add(int team, int row) {
+            members[team * teamSize + sizes[team]++] = row;
+            skillSums[team] += table.skillLevel(row);
+            int game = table.gameOrdinal(row);
+            if (game >= 0) gameCounts[team * games + game]++;
+            int role = table.roleOrdinal(row);
+            if (role >= 0 && roleCounts[team * roles + role]++ == 0) distinctRoles[team]++;
+            int type = table.personalityOrdinal(row);
+            if (type == PersonalityType.LEADER.ordinal()) leaders[team]++;
+            else if (type == PersonalityType.THINKER.ordinal()) thinkers[team]++;
+        }
 
-    private int countGame(Team t, String game) {
-        return (int) t.getMembers().stream()
-                .filter(m -> game.equals(m.getInterest()))
-                .count();
+        // Row views of the team's members, in the order they joined
+        List<Participant> memberViews(int team) {
+            List<Participant> views = new ArrayList<>(sizes[team]);
+            for (int slot = 0; slot < sizes[team]; slot++) views.add(table.get(members[team * teamSize + slot]));
+            return views;
+        }
+
+        Team toTeam(int team, int teamId) {
+            Team t = new Team(teamId);
+            for (Participant p : memberViews(team)) t.addMember(p);
+            return t;
+        }
     }
 
-    private int evaluateSkillFit(Team t, Participant p) {
-        if (t.getMembers().isEmpty()) return 0;
+    /**
+     * Greedy formation followed by local search within the time budget.
+     * See TeamOptimizer; the seed makes the search repeatable.
+     */
+    public TeamFormationResult formOptimizedTeams(Duration budget, long seed) {
+        return new TeamOptimizer(teamSize, seed, constraints).optimize(formAllTeams(), budget);
+    }
 
-        double avg = t.getMembers().stream()
-                .mapToInt(Participant::getSkillLevel)
-                .average()
-                .orElse(p.getSkillLevel());
-        return (int) Math.abs(avg - p.getSkillLevel());
+    /**
+     * Anytime formation: runs greedy formation and then the optimizer on the executor
+     * until the budget (counted from this call) expires or the formation is cancelled.
+     * The listener receives progress snapshots on the executor thread; may be null.
+     */
+    public AnytimeFormation formTeamsAnytime(Duration budget, long seed, ExecutorService executor,
+                                             Consumer<FormationProgress> listener) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        AnytimeFormation formation = new AnytimeFormation(listener);
+        formation.start(executor, () -> {
+            TeamFormationResult greedy = formAllTeams();
+            TeamOptimizer optimizer = new TeamOptimizer(teamSize, seed, constraints);
+            optimizer.setProgressListener(formation::publish, PROGRESS_INTERVAL);
+            long remaining = formation.isCancelled() ? 0 : Math.max(0, deadline - System.nanoTime());
+            return optimizer.optimize(greedy, Duration.ofNanos(remaining));
+        });
+        return formation;
     }
 
     /**
      * Backward compatibility method
      */
     public List<Team> formTeams() {
-        Map<String, Object> result = formAllTeams();
-        List<Team> allTeams = new ArrayList<>();
-        allTeams.addAll((List<Team>) result.get("wellBalanced"));
-        allTeams.addAll((List<Team>) result.get("secondary"));
-        return allTeams;
+        return new ArrayList<>(formAllTeams().getAllTeams());
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package teamate;
+
+/**
+ * Balance rules for well-balanced teams. Immutable; DEFAULT holds the rules
+ * from the requirements. Formation strategies, TeamOptimizer and TeamRoster
+ * all judge teams with the same instance, so a custom rule set applies everywhere.
+ */
+public final class TeamConstraints {
+    // Balance constraints from requirements
+    public static final TeamConstraints DEFAULT = new TeamConstraints(2, 3, 2, 1);
+
+    private final int maxPerGame;
+    private final int minRoles;
+    private final int maxThinkers;
+    private final int maxLeaders;
+
+    /**
+     * @param maxPerGame  most members sharing a game
+     * @param minRoles    fewest distinct preferred roles (capped at the team size)
+     * @param maxThinkers most Thinkers per team
+     * @param maxLeaders  most Leaders per team; greedy formation seeds each team with one
+     */
+    public TeamConstraints(int maxPerGame, int minRoles, int maxThinkers, int maxLeaders) {
+        if (maxPerGame < 1 || minRoles < 0 || maxThinkers < 0 || maxLeaders < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid team constraints - Max per game: %d, Min roles: %d, Max thinkers: %d, Max leaders: %d",
+                    maxPerGame, minRoles, maxThinkers, maxLeaders));
+        }
+        this.maxPerGame = maxPerGame;
+        this.minRoles = minRoles;
+        this.maxThinkers = maxThinkers;
+        this.maxLeaders = maxLeaders;
+    }
+
+    public int getMaxPerGame() { return maxPerGame; }
+    public int getMinRoles() { return minRoles; }
+    public int getMaxThinkers() { return maxThinkers; }
+    public int getMaxLeaders() { return maxLeaders; }
+
+    // True if p can join t without breaking a rule (the checks greedy formation applies)
+    public boolean canJoin(Team t, Participant p) {
+        return p.isValid() && p.isEligibleForTeams() && fits(t, p);
+    }
+
+    // True if t is a full team that meets every rule
+    public boolean isWellBalanced(Team t, int teamSize) {
+        if (t.size() != teamSize
+                || t.countPersonality(PersonalityType.LEADER) > maxLeaders
+                || t.countPersonality(PersonalityType.THINKER) > maxThinkers
+                || t.distinctRoles() < Math.min(minRoles, teamSize)) {
+            return false;
+        }
+        for (Participant m : t.getMembers()) {
+            if (!m.isValid() || !m.isEligibleForTeams() || t.countGame(m.getGame()) > maxPerGame) return false;
+        }
+        return true;
+    }
+
+    // Game, role and personality checks for adding p to a team with room
+    boolean fits(Team t, Participant p) {
+        return allowsGame(t, p) && helpsRoleDiversity(t, p) && isPersonalityCompatible(t, p);
+    }
+
+    boolean allowsGame(Team t, Participant p) {
+        return allowsGame(t.countGame(p.getGame()));
+    }
+
+    boolean helpsRoleDiversity(Team t, Participant p) {
+        return helpsRoleDiversity(t.distinctRoles(), t.countRole(p.getPreferredRole()));
+    }
+
+    boolean isPersonalityCompatible(Team t, Participant p) {
+        return isPersonalityCompatible(p.getPersonality(),
+                t.countPersonality(PersonalityType.LEADER), t.countPersonality(PersonalityType.THINKER));
+    }
+
+    // The same checks on a team's counters, for formation that keeps its own (see TeamBuilder)
+    boolean allowsGame(int sameGame) {
+        return sameGame < maxPerGame;
+    }
+
+    boolean helpsRoleDiversity(int distinctRoles, int sameRole) {
+        return distinctRoles >= minRoles || sameRole == 0;
+    }
+
+    boolean isPersonalityCompatible(PersonalityType type, int leaders, int thinkers) {
+        if (type == PersonalityType.LEADER) {
+            return leaders < maxLeaders;
+        } else if (type == PersonalityType.THINKER) {
+            return thinkers < maxThinkers;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Max per game: %d, Min roles: %d, Max thinkers: %d, Max leaders: %d",
+                maxPerGame, minRoles, maxThinkers, maxLeaders);
+    }
+}
@@ -0,0 +1,136 @@
+package teamate;
+
+import java.util.*;
+
+/**
+ * Outcome of team formation: well-balanced teams, secondary teams and the
+ * participants left over. The lists are fixed at construction; the teams in
+ * them are the formed Team objects. Derived views (all teams, the team of a
+ * participant, statistics) are computed on first use and cached.
+ */
+public final class TeamFormationResult {
+    private static final TeamFormationResult EMPTY =
+            new TeamFormationResult(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+    private final List<Team> wellBalanced;
+    private final List<Team> secondary;
+    private final List<Participant> leftover;
+
+    // Lazily computed views; a race only computes the same value twice
+    private volatile List<Team> allTeams;
+    private volatile Map<String, Team> teamByParticipant;
+    private volatile Statistics statistics;
+
+    public TeamFormationResult(List<Team> wellBalanced, List<Team> secondary, List<Participant> leftover) {
+        this.wellBalanced = Collections.unmodifiableList(new ArrayList<>(wellBalanced));
+        this.secondary = Collections.unmodifiableList(new ArrayList<>(secondary));
+        this.leftover = Collections.unmodifiableList(new ArrayList<>(leftover));
+    }
+
+    public static TeamFormationResult empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a result whose leftover is every participant of the pool not in any team,
+     * in pool order. Linear in the pool size.
+     */
+    public static TeamFormationResult fromPool(List<Participant> pool, List<Team> wellBalanced, List<Team> secondary) {
+        Set<Participant> assigned = new HashSet<>();
+        for (Team t : wellBalanced) assigned.addAll(t.getMembers());
+        for (Team t : secondary) assigned.addAll(t.getMembers());
+
+        List<Participant> leftover = new ArrayList<>();
+        for (Participant p : pool) {
+            if (!assigned.contains(p)) leftover.add(p);
+        }
+        return new TeamFormationResult(wellBalanced, secondary, leftover);
+    }
+
+    public List<Team> getWellBalancedTeams() { return wellBalanced; }
+    public List<Team> getSecondaryTeams() { return secondary; }
+    public List<Participant> getLeftover() { return leftover; }
+
+    // Well-balanced teams followed by secondary teams
+    public List<Team> getAllTeams() {
+        List<Team> all = allTeams;
+        if (all == null) {
+            List<Team> combined = new ArrayList<>(wellBalanced.size() + secondary.size());
+            combined.addAll(wellBalanced);
+            combined.addAll(secondary);
+            allTeams = all = Collections.unmodifiableList(combined);
+        }
+        return all;
+    }
+
+    // The team the participant was placed in, or null if left over or unknown
+    public Team findTeam(String participantId) {
+        Map<String, Team> index = teamByParticipant;
+        if (index == null) {
+            index = new HashMap<>();
+            for (Team t : getAllTeams()) {
+                for (Participant p : t.getMembers()) index.put(p.getId(), t);
+            }
+            teamByParticipant = index;
+        }
+        return index.get(participantId);
+    }
+
+    public Statistics getStatistics() {
+        Statistics s = statistics;
+        if (s == null) statistics = s = new Statistics(this);
+        return s;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Well-balanced: %d, Secondary: %d, Leftover: %d",
+                wellBalanced.size(), secondary.size(), leftover.size());
+    }
+
+    /**
+     * Counts and skill figures for a result.
+     */
+    public static final class Statistics {
+        private final int participants;
+        private final int inWellBalanced;
+        private final double averageTeamSkill;
+        private final double skillSpread;
+
+        private Statistics(TeamFormationResult result) {
+            int balancedMembers = 0;
+            for (Team t : result.wellBalanced) balancedMembers += t.size();
+
+            int people = result.leftover.size();
+            int teams = 0;
+            double sum = 0;
+            double sumOfSquares = 0;
+            for (Team t : result.getAllTeams()) {
+                people += t.size();
+                if (t.size() == 0) continue;
+                double average = t.getAverageSkill();
+                sum += average;
+                sumOfSquares += average * average;
+                teams++;
+            }
+            this.participants = people;
+            this.inWellBalanced = balancedMembers;
+            this.averageTeamSkill = teams == 0 ? 0 : sum / teams;
+            this.skillSpread = teams == 0 ? 0
+                    : Math.sqrt(Math.max(0, sumOfSquares / teams - averageTeamSkill * averageTeamSkill));
+        }
+
+        // Everyone in the result: team members plus leftovers
+        public int getParticipants() { return participants; }
+        public int getInWellBalanced() { return inWellBalanced; }
+
+        // Share of all participants placed in well-balanced teams, 0-1
+        public double getBalancedShare() { return participants == 0 ? 0 : (double) inWellBalanced / participants; }
+
+        // Mean of the teams' average skill
+        public double getAverageTeamSkill() { return averageTeamSkill; }
+
+        // Standard deviation of team average skill; lower means more even teams
+        public double getSkillSpread() { return skillSpread; }
+    }
+}
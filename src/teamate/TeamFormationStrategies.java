@@ -0,0 +1,45 @@
+package teamate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of team formation strategies, in menu order.
+ * The built-in strategies are registered up front; others can be added with register().
+ */
+public final class TeamFormationStrategies {
+    public static final String GREEDY = "greedy";
+    public static final String ROUND_ROBIN = "round-robin";
+    public static final String FAST_RANDOM = "fast-random";
+    public static final String OPTIMIZING = "optimizing";
+
+    private static final long DEFAULT_SEED = 42L;
+    private static final Map<String, TeamFormationStrategy> STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        register(new GreedyFormationStrategy());
+        register(new RoundRobinFormationStrategy());
+        register(new FastRandomFormationStrategy(DEFAULT_SEED));
+        register(new OptimizingFormationStrategy(Duration.ofSeconds(10), DEFAULT_SEED));
+    }
+
+    private TeamFormationStrategies() {
+    }
+
+    // Adds a strategy, replacing any registered under the same name
+    public static synchronized void register(TeamFormationStrategy strategy) {
+        STRATEGIES.put(strategy.getName(), strategy);
+    }
+
+    // The strategy registered under the name, or null if there is none
+    public static synchronized TeamFormationStrategy find(String name) {
+        return name == null ? null : STRATEGIES.get(name.trim().toLowerCase());
+    }
+
+    public static synchronized List<TeamFormationStrategy> all() {
+        return new ArrayList<>(STRATEGIES.values());
+    }
+}
@@ -0,0 +1,23 @@
+package teamate;
+
+import java.util.List;
+
+/**
+ * An algorithm for splitting participants into teams. Strategies differ in cost
+ * and quality: round-robin and fast-random suit very large practice events,
+ * greedy is the everyday choice and optimizing spends a time budget on better teams.
+ * Available strategies are listed in TeamFormationStrategies.
+ */
+public interface TeamFormationStrategy {
+    // Short key used to look the strategy up, e.g. "greedy"
+    String getName();
+
+    // One line for menus
+    String getDescription();
+
+    /**
+     * Forms teams without modifying the given list. The report holds the result in
+     * the usual formAllTeams() shape together with timing and quality figures.
+     */
+    FormationReport formTeams(List<Participant> participants, int teamSize, TeamConstraints constraints);
+}
@@ -0,0 +1,389 @@
+package teamate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Improves a greedy team formation with simulated annealing.
+ * Keeps TeamBuilder's well-balanced teams, deals everyone else into full teams,
+ * then swaps members between teams (or with the leftover pool) to maximise the
+ * number of teams meeting the balance rules and to even out average skill.
+ * Each swap is scored in O(1) from per-team counters.
+ * The result never has fewer well-balanced teams than the starting point.
+ * The search stops early, keeping its best state, if the thread is interrupted.
+ */
+public class TeamOptimizer {
+    // Cost weights: finishing a balanced team outweighs any single violation,
+    // which outweighs any skill difference (at most 81 per team)
+    private static final double UNBALANCED_COST = 10_000;
+    private static final double VIOLATION_COST = 1_000;
+    private static final double START_TEMPERATURE = 2_000;
+    private static final double END_TEMPERATURE = 0.5;
+    // Moves between clock checks and best-state snapshots
+    private static final int CHECK_INTERVAL = 1024;
+    // Initial capacity of the swap journal, in ints (two per swap)
+    private static final int JOURNAL_CAPACITY = 4096;
+
+    private final int teamSize;
+    private final long seed;
+    private final TeamConstraints constraints;
+    private final Logger logger = Logger.getInstance();
+
+    private long movesTried;
+    private long movesAccepted;
+    private Consumer<FormationProgress> progressListener;
+    private long progressIntervalNanos;
+
+    public TeamOptimizer(int teamSize, long seed) {
+        this(teamSize, seed, TeamConstraints.DEFAULT);
+    }
+
+    public TeamOptimizer(int teamSize, long seed, TeamConstraints constraints) {
+        this.teamSize = Math.max(1, teamSize);
+        this.seed = seed;
+        this.constraints = constraints;
+    }
+
+    public long getMovesTried() { return movesTried; }
+    public long getMovesAccepted() { return movesAccepted; }
+
+    /**
+     * Publish the best result so far to the listener when the search starts, at
+     * most once per interval while it runs, and once more when it ends.
+     * The listener runs on the optimizing thread and should return quickly.
+     */
+    public void setProgressListener(Consumer<FormationProgress> listener, Duration interval) {
+        this.progressListener = listener;
+        this.progressIntervalNanos = interval.toNanos();
+    }
+
+    public TeamFormationResult optimize(TeamFormationResult initial, Duration budget) {
+        return optimize(initial, budget, Long.MAX_VALUE);
+    }
+
+    /**
+     * Optimizes a formAllTeams() result until the budget runs out or maxMoves swaps
+     * have been tried. With a move limit the cooling schedule follows the move count,
+     * so runs with the same seed and input give the same teams.
+     * Returns a new result; the input teams are not modified.
+     */
+    public TeamFormationResult optimize(TeamFormationResult initial, Duration budget, long maxMoves) {
+        long startTime = System.nanoTime();
+        List<Team> wellBalanced = initial.getWellBalancedTeams();
+        List<Participant> others = new ArrayList<>();
+        for (Team t : initial.getSecondaryTeams()) others.addAll(t.getMembers());
+        others.addAll(initial.getLeftover());
+
+        Search search = new Search(wellBalanced, others, startTime);
+        int before = wellBalanced.size();
+        search.publish(search.toResult(), false);
+        search.run(budget.toNanos(), maxMoves);
+        movesTried = search.tried;
+        movesAccepted = search.accepted;
+        TeamFormationResult result = search.toResult();
+        search.publish(result, true);
+
+        logger.info(String.format(
+                "Team optimization completed - Well-balanced: %d -> %d, Moves: %d, Accepted: %d, Time: %d ms",
+                before, result.getWellBalancedTeams().size(), movesTried, movesAccepted,
+                (System.nanoTime() - startTime) / 1_000_000));
+        return result;
+    }
+
+    /**
+     * Search state: participants sit in slots, teamCount * teamSize team slots
+     * followed by the leftover pool. Attributes are flattened into int arrays.
+     */
+    private final class Search {
+        private final Participant[] people;
+        private final int[] game, role, kind, ineligible, skill;
+        private final int gameCount, roleCount, teamCount;
+        private final int maxPerGame, minRoles, maxThinkers, maxLeaders;
+        private final double skillTarget;
+        private final long startTime;
+
+        private final int[] slots;  // slot -> person
+        private final int[] slotOf; // person -> slot
+
+        // Per-team counters
+        private final int[] leaders, thinkers, unfit, skillSum, gameExcess, distinctRoles;
+        private final int[] gameCounts, roleCounts;
+
+        private double cost;
+        private int unbalanced;
+        private final int[] bestSlots;
+        // Slot pairs swapped since bestSlots was last brought up to date, or -1
+        // once there are more swaps than slots and copying the slots is cheaper
+        private int[] journal;
+        private int journalSize;
+        private int bestUnbalanced;
+        private double bestCost;
+        private long tried;
+        private long accepted;
+        private long lastPublished;
+
+        private static final int OTHER = 0, LEADER = 1, THINKER = 2;
+
+        Search(List<Team> wellBalanced, List<Participant> others, long startTime) {
+            this.startTime = startTime;
+            this.lastPublished = startTime;
+            List<Participant> all = new ArrayList<>();
+            for (Team t : wellBalanced) all.addAll(t.getMembers());
+            // Everyone else is dealt into teams in a seeded random order
+            List<Participant> rest = new ArrayList<>(others);
+            SplittableRandom shuffle = new SplittableRandom(seed);
+            for (int i = rest.size() - 1; i > 0; i--) {
+                int j = shuffle.nextInt(i + 1);
+                Participant tmp = rest.get(i);
+                rest.set(i, rest.get(j));
+                rest.set(j, tmp);
+            }
+            all.addAll(rest);
+
+            int n = all.size();
+            people = all.toArray(new Participant[0]);
+            teamCount = n / teamSize;
+            maxPerGame = constraints.getMaxPerGame();
+            minRoles = Math.min(constraints.getMinRoles(), teamSize);
+            maxThinkers = constraints.getMaxThinkers();
+            maxLeaders = constraints.getMaxLeaders();
+            gameCount = Game.count() + 1; // last index stands for "no game"
+            roleCount = Role.count() + 1;
+
+            game = new int[n];
+            role = new int[n];
+            kind = new int[n];
+            ineligible = new int[n];
+            skill = new int[n];
+            long totalSkill = 0;
+            for (int i = 0; i < n; i++) {
+                Participant p = people[i];
+                game[i] = p.getGame() == null ? gameCount - 1 : p.getGame().ordinal();
+                role[i] = p.getPreferredRole() == null ? roleCount - 1 : p.getPreferredRole().ordinal();
+                kind[i] = p.getPersonality() == PersonalityType.LEADER ? LEADER
+                        : p.getPersonality() == PersonalityType.THINKER ? THINKER : OTHER;
+                ineligible[i] = p.isValid() && p.isEligibleForTeams() ? 0 : 1;
+                skill[i] = p.getSkillLevel();
+                totalSkill += skill[i];
+            }
+            skillTarget = n == 0 ? 0 : (double) totalSkill / n;
+
+            slots = new int[n];
+            slotOf = new int[n];
+            for (int i = 0; i < n; i++) {
+                slots[i] = i;
+                slotOf[i] = i;
+            }
+
+            leaders = new int[teamCount];
+            thinkers = new int[teamCount];
+            unfit = new int[teamCount];
+            skillSum = new int[teamCount];
+            gameExcess = new int[teamCount];
+            distinctRoles = new int[teamCount];
+            gameCounts = new int[teamCount * gameCount];
+            roleCounts = new int[teamCount * roleCount];
+            bestSlots = slots.clone();
+            journal = new int[Math.min(JOURNAL_CAPACITY, 2 * n)];
+            recount();
+            snapshot();
+        }
+
+        void run(long budgetNanos, long maxMoves) {
+            int teamSlots = teamCount * teamSize;
+            if (teamCount == 0 || (teamCount == 1 && slots.length == teamSlots)) return; // nothing to swap with
+
+            SplittableRandom random = new SplittableRandom(seed);
+            long start = System.nanoTime();
+            double temperature = START_TEMPERATURE;
+            while (true) {
+                long batch = Math.min(CHECK_INTERVAL, maxMoves - tried);
+                for (long i = 0; i < batch; i++) {
+                    int a = random.nextInt(teamSlots);
+                    int b = random.nextInt(slots.length);
+                    tried++;
+                    if (trySwap(a, b, temperature, random)) accepted++;
+                }
+
+                if (unbalanced < bestUnbalanced || (unbalanced == bestUnbalanced && cost < bestCost - 1e-9)) {
+                    snapshot();
+                }
+                long now = System.nanoTime();
+                double progress = maxMoves != Long.MAX_VALUE
+                        ? (double) tried / maxMoves
+                        : (double) (now - start) / budgetNanos;
+                if (progress >= 1 || tried >= maxMoves || now - start >= budgetNanos
+                        || Thread.currentThread().isInterrupted()) break;
+                temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, progress);
+
+                if (progressListener != null && now - lastPublished >= progressIntervalNanos) {
+                    int[] current = slots.clone();
+                    load(bestSlots);
+                    publish(toResult(), false);
+                    load(current);
+                }
+            }
+
+            // Continue from the best state seen
+            load(bestSlots);
+            journalSize = 0;
+        }
+
+        // Moves everyone to the given slots and rebuilds the counters
+        private void load(int[] assignment) {
+            System.arraycopy(assignment, 0, slots, 0, slots.length);
+            for (int s = 0; s < slots.length; s++) slotOf[slots[s]] = s;
+            recount();
+        }
+
+        // Reports the best state; result must have been built from it
+        void publish(TeamFormationResult result, boolean last) {
+            if (progressListener == null) return;
+            lastPublished = System.nanoTime();
+            progressListener.accept(new FormationProgress(
+                    (lastPublished - startTime) / 1_000_000, teamCount, teamCount - bestUnbalanced,
+                    bestCost, tried, result, last));
+        }
+
+        // Swaps the people in slots a (a team slot) and b; keeps the swap if annealing accepts it
+        private boolean trySwap(int a, int b, double temperature, SplittableRandom random) {
+            int ta = a / teamSize;
+            int tb = b < teamCount * teamSize ? b / teamSize : -1; // -1 = leftover pool
+            if (ta == tb) return false;
+            int pa = slots[a], pb = slots[b];
+
+            double before = teamCost(ta) + (tb >= 0 ? teamCost(tb) : 0);
+            int unbalancedBefore = isUnbalanced(ta) + (tb >= 0 ? isUnbalanced(tb) : 0);
+            move(pa, ta, pb);
+            if (tb >= 0) move(pb, tb, pa);
+            double delta = teamCost(ta) + (tb >= 0 ? teamCost(tb) : 0) - before;
+
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                slots[a] = pb;
+                slots[b] = pa;
+                slotOf[pa] = b;
+                slotOf[pb] = a;
+                record(a, b);
+                cost += delta;
+                unbalanced += isUnbalanced(ta) + (tb >= 0 ? isUnbalanced(tb) : 0) - unbalancedBefore;
+                return true;
+            }
+            move(pb, ta, pa);
+            if (tb >= 0) move(pa, tb, pb);
+            return false;
+        }
+
+        // Replaces person out with person in on team t
+        private void move(int out, int t, int in) {
+            remove(t, out);
+            add(t, in);
+        }
+
+        private void add(int t, int p) {
+            if (kind[p] == LEADER) leaders[t]++;
+            else if (kind[p] == THINKER) thinkers[t]++;
+            unfit[t] += ineligible[p];
+            skillSum[t] += skill[p];
+            if (gameCounts[t * gameCount + game[p]]++ >= maxPerGame) gameExcess[t]++;
+            if (roleCounts[t * roleCount + role[p]]++ == 0) distinctRoles[t]++;
+        }
+
+        private void remove(int t, int p) {
+            if (kind[p] == LEADER) leaders[t]--;
+            else if (kind[p] == THINKER) thinkers[t]--;
+            unfit[t] -= ineligible[p];
+            skillSum[t] -= skill[p];
+            if (--gameCounts[t * gameCount + game[p]] >= maxPerGame) gameExcess[t]--;
+            if (--roleCounts[t * roleCount + role[p]] == 0) distinctRoles[t]--;
+        }
+
+        // Number of balance rules team t breaks, the same rules TeamConstraints applies
+        private int violations(int t) {
+            return Math.max(0, leaders[t] - maxLeaders)
+                    + Math.max(0, thinkers[t] - maxThinkers)
+                    + gameExcess[t]
+                    + Math.max(0, minRoles - distinctRoles[t])
+                    + unfit[t];
+        }
+
+        private int isUnbalanced(int t) {
+            return violations(t) > 0 ? 1 : 0;
+        }
+
+        private double teamCost(int t) {
+            int v = violations(t);
+            double d = (double) skillSum[t] / teamSize - skillTarget;
+            return (v > 0 ? UNBALANCED_COST : 0) + v * VIOLATION_COST + d * d;
+        }
+
+        // Rebuilds every counter from the slot assignment
+        private void recount() {
+            Arrays.fill(leaders, 0);
+            Arrays.fill(thinkers, 0);
+            Arrays.fill(unfit, 0);
+            Arrays.fill(skillSum, 0);
+            Arrays.fill(gameExcess, 0);
+            Arrays.fill(distinctRoles, 0);
+            Arrays.fill(gameCounts, 0);
+            Arrays.fill(roleCounts, 0);
+            for (int s = 0; s < teamCount * teamSize; s++) add(s / teamSize, slots[s]);
+            cost = 0;
+            unbalanced = 0;
+            for (int t = 0; t < teamCount; t++) {
+                cost += teamCost(t);
+                unbalanced += isUnbalanced(t);
+            }
+        }
+
+        // Journals an accepted swap so the next snapshot can replay it instead of copying every slot
+        private void record(int a, int b) {
+            if (journalSize < 0) return;
+            if (journalSize == journal.length) {
+                if (journal.length >= 2 * slots.length) {
+                    journalSize = -1;
+                    return;
+                }
+                journal = Arrays.copyOf(journal, Math.min(2 * journal.length, 2 * slots.length));
+            }
+            journal[journalSize++] = a;
+            journal[journalSize++] = b;
+        }
+
+        // Makes the current state the best one; costs the swaps since the last snapshot, at most one copy
+        private void snapshot() {
+            if (journalSize < 0) {
+                System.arraycopy(slots, 0, bestSlots, 0, slots.length);
+            } else {
+                for (int i = 0; i < journalSize; i += 2) {
+                    int a = journal[i], b = journal[i + 1];
+                    int tmp = bestSlots[a];
+                    bestSlots[a] = bestSlots[b];
+                    bestSlots[b] = tmp;
+                }
+            }
+            journalSize = 0;
+            bestUnbalanced = unbalanced;
+            bestCost = cost;
+        }
+
+        TeamFormationResult toResult() {
+            List<Team> balancedTeams = new ArrayList<>();
+            List<Team> secondaryTeams = new ArrayList<>();
+            int balancedId = 1;
+            int secondaryId = 100; // same numbering as TeamBuilder
+            for (int t = 0; t < teamCount; t++) {
+                Team team = isUnbalanced(t) == 0 ? new Team(balancedId++) : new Team(secondaryId++);
+                for (int s = t * teamSize; s < (t + 1) * teamSize; s++) team.addMember(people[slots[s]]);
+                (isUnbalanced(t) == 0 ? balancedTeams : secondaryTeams).add(team);
+            }
+            List<Participant> leftover = new ArrayList<>();
+            for (int s = teamCount * teamSize; s < slots.length; s++) leftover.add(people[slots[s]]);
+
+            return new TeamFormationResult(balancedTeams, secondaryTeams, leftover);
+        }
+    }
+}
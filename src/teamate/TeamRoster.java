@@ -0,0 +1,518 @@
+package teamate;
+
+import java.util.*;
+
+/**
+ * Keeps formed teams current as participants are added or edited, without
+ * re-forming the whole cohort. An update touches the participant's own team,
+ * the unassigned pool and, when looking for a swap, the secondary teams.
+ * Secondary teams are indexed by the rule they break, so a new participant is
+ * only tried against teams it could fix; unassigned participants and secondary
+ * members are indexed by game, role and personality type, so an edit that
+ * breaks a well-balanced team only tries participants that could fix it. Updates are synchronized, but the
+ * teams handed out are live, so apply updates on the thread that shows them.
+ */
+public class TeamRoster {
+    /**
+     * What an update did, for reporting back to the organizer.
+     */
+    public enum Outcome {
+        JOINED_TEAM,    // replaced a member so a secondary team became well-balanced
+        FORMED_TEAM,    // formed a new team with unassigned participants
+        UNASSIGNED,     // waiting in the unassigned pool
+        UNCHANGED,      // the participant's team still has the same status
+        TEAM_REPAIRED,  // the team broke a rule and a swap fixed it
+        TEAM_DEMOTED,   // the team broke a rule and is now a secondary team
+        TEAM_PROMOTED   // the secondary team now meets every rule
+    }
+
+    /**
+     * The rule a secondary team breaks, when replacing one member could fix it.
+     * SEVERAL is a team breaking more than one rule in a way one member accounts for;
+     * NONE is a secondary team formed without the checks that already meets them.
+     */
+    private enum Rule { LEADERS, THINKERS, GAME, ROLES, MEMBER, SEVERAL, NONE }
+
+    // Game, role and personality type of a repair candidate
+    private static final class Profile {
+        final Game game;
+        final Role role;
+        final PersonalityType type;
+
+        Profile(Participant p) {
+            this.game = p.getGame();
+            this.role = p.getPreferredRole();
+            this.type = p.getPersonality();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Profile)) return false;
+            Profile that = (Profile) o;
+            return game == that.game && role == that.role && type == that.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(game, role, type);
+        }
+    }
+
+    // What a replacement has to fix in one secondary team, and which members it could replace
+    private static final class Fix {
+        final Rule rule;
+        final Game game; // the game over its limit, for GAME
+        final int[] slots;
+
+        Fix(Rule rule, Game game, int[] slots) {
+            this.rule = rule;
+            this.game = game;
+            this.slots = slots;
+        }
+    }
+
+    private final Logger logger = Logger.getInstance();
+    private final int teamSize;
+    private final TeamConstraints constraints;
+    // Insertion-ordered; Team has identity equality, so removal is O(1)
+    private final Set<Team> wellBalanced;
+    private final Set<Team> secondary;
+    private final List<Participant> unassigned;
+    private final Map<String, Participant> byId = new HashMap<>();
+    private final Map<String, Team> teamOf = new HashMap<>(); // absent while unassigned
+    // Secondary teams one replacement could fix, by rule broken and, for GAME, by game
+    private final Map<Rule, Map<Game, Set<Team>>> fixable = new EnumMap<>(Rule.class);
+    private final Map<Team, Fix> fixOf = new IdentityHashMap<>();
+    // Eligible participants repair() could swap in, unassigned first, by what they would bring to a team
+    private final Map<Profile, Set<Participant>> pooled = new LinkedHashMap<>();
+    private final Map<Profile, Set<Participant>> inSecondary = new LinkedHashMap<>();
+    private final Map<Participant, Set<Participant>> candidateSet = new IdentityHashMap<>();
+    private long repairCandidates; // swaps repair() has tried, for tests
+    private int nextTeamId = 1;
+
+    /**
+     * Takes over a formAllTeams() (or TeamOptimizer) result.
+     */
+    public TeamRoster(TeamFormationResult result, int teamSize) {
+        this(result, teamSize, TeamConstraints.DEFAULT);
+    }
+
+    /**
+     * Takes over a result formed under the given balance rules, and keeps applying them.
+     */
+    public TeamRoster(TeamFormationResult result, int teamSize, TeamConstraints constraints) {
+        this.teamSize = teamSize;
+        this.constraints = constraints;
+        this.wellBalanced = new LinkedHashSet<>(result.getWellBalancedTeams());
+        this.secondary = new LinkedHashSet<>(result.getSecondaryTeams());
+        this.unassigned = new ArrayList<>(result.getLeftover());
+
+        for (Team t : wellBalanced) index(t);
+        for (Team t : secondary) {
+            index(t);
+            track(t);
+            for (Participant m : t.getMembers()) addCandidate(inSecondary, m);
+        }
+        for (Participant p : unassigned) {
+            byId.put(p.getId(), p);
+            addCandidate(pooled, p);
+        }
+    }
+
+    private void index(Team t) {
+        nextTeamId = Math.max(nextTeamId, t.getTeamID() + 1);
+        for (Participant p : t.getMembers()) {
+            byId.put(p.getId(), p);
+            teamOf.put(p.getId(), t);
+        }
+    }
+
+    public synchronized List<Team> getWellBalancedTeams() { return new ArrayList<>(wellBalanced); }
+    public synchronized List<Team> getSecondaryTeams() { return new ArrayList<>(secondary); }
+    public synchronized List<Participant> getUnassigned() { return new ArrayList<>(unassigned); }
+
+    /**
+     * The team the participant is in, or null if unassigned or unknown. O(1): the
+     * participant-to-team index is updated with every placement, swap and new team.
+     */
+    public synchronized Team findTeam(String participantId) {
+        return teamOf.get(participantId);
+    }
+
+    // The participant with the ID as held by the roster, or null if unknown
+    public synchronized Participant findParticipant(String participantId) {
+        return byId.get(participantId);
+    }
+
+    // True if the team is currently one of the well-balanced teams
+    public synchronized boolean isWellBalanced(Team t) {
+        return wellBalanced.contains(t);
+    }
+
+    /**
+     * Places a new participant: into a free or improvable slot of an existing team,
+     * or into a new team with unassigned participants, or into the unassigned pool.
+     * A participant whose ID is already known is treated as an edit.
+     */
+    public synchronized Outcome addParticipant(Participant p) {
+        if (byId.containsKey(p.getId())) return updateParticipant(p);
+        byId.put(p.getId(), p);
+        Outcome outcome = place(p);
+        logger.info("Participant " + p.getId() + " added to formed teams: " + outcome);
+        return outcome;
+    }
+
+    /**
+     * Applies an edit. Teams hold their own copies of participants, so the edited
+     * details are copied onto the member with the same ID, and only that member's
+     * team is checked and repaired.
+     */
+    public synchronized Outcome updateParticipant(Participant edited) {
+        Participant member = byId.get(edited.getId());
+        if (member == null) return addParticipant(edited);
+        removeCandidate(member); // indexed under the details it had
+        if (member != edited) copyDetails(edited, member);
+
+        Team team = teamOf.get(member.getId());
+        Outcome outcome;
+        if (team == null) {
+            removeIdentity(unassigned, member);
+            outcome = place(member);
+        } else {
+            team.recalculateAggregates(); // member details changed after joining
+            boolean balancedNow = constraints.isWellBalanced(team, teamSize);
+            if (!wellBalanced.contains(team)) {
+                if (balancedNow) {
+                    promote(team);
+                    outcome = Outcome.TEAM_PROMOTED;
+                } else {
+                    track(team);
+                    addCandidate(inSecondary, member);
+                    outcome = Outcome.UNCHANGED;
+                }
+            } else if (balancedNow) {
+                outcome = Outcome.UNCHANGED;
+            } else if (repair(team, member)) {
+                outcome = Outcome.TEAM_REPAIRED;
+            } else {
+                demote(team);
+                outcome = Outcome.TEAM_DEMOTED;
+            }
+        }
+        logger.info("Participant " + member.getId() + " updated in formed teams: " + outcome);
+        return outcome;
+    }
+
+    /**
+     * Finds a home for a participant that is not in any team or the pool.
+     * Well-balanced teams are always full, so p can only join a secondary team,
+     * by replacing a member so that the team becomes well-balanced.
+     */
+    private Outcome place(Participant p) {
+        if (p.isValid() && p.isEligibleForTeams()) {
+            for (Map.Entry<Rule, Map<Game, Set<Team>>> byRule : fixable.entrySet()) {
+                if (!canHelp(byRule.getKey(), p)) continue;
+                for (Map.Entry<Game, Set<Team>> byGame : byRule.getValue().entrySet()) {
+                    if (byRule.getKey() == Rule.GAME && byGame.getKey() == p.getGame()) continue;
+                    for (Team t : byGame.getValue()) {
+                        int slot = replacementSlot(t, p);
+                        if (slot >= 0) {
+                            Participant out = t.getMembers().set(slot, p);
+                            removeCandidate(out);
+                            teamOf.remove(out.getId());
+                            teamOf.put(p.getId(), t);
+                            promote(t);
+                            addUnassigned(out);
+                            formFromPool();
+                            return Outcome.JOINED_TEAM;
+                        }
+                    }
+                }
+            }
+        }
+        addUnassigned(p);
+        return formFromPool() ? Outcome.FORMED_TEAM : Outcome.UNASSIGNED;
+    }
+
+    // False if p could not fix any team breaking the rule
+    private static boolean canHelp(Rule rule, Participant p) {
+        if (rule == Rule.LEADERS) return p.getPersonality() != PersonalityType.LEADER;
+        if (rule == Rule.THINKERS) return p.getPersonality() != PersonalityType.THINKER;
+        return true;
+    }
+
+    // Index of the member p could replace to make t well-balanced, or -1
+    private int replacementSlot(Team t, Participant p) {
+        Fix fix = fixOf.get(t);
+        if (fix.rule == Rule.ROLES && (p.getPreferredRole() == null || t.countRole(p.getPreferredRole()) > 0)) {
+            return -1; // p has to bring a role the team lacks
+        }
+        List<Participant> members = t.getMembers();
+        for (int i : fix.slots) {
+            Participant old = members.set(i, p);
+            boolean balanced = constraints.isWellBalanced(t, teamSize);
+            members.set(i, old);
+            if (balanced) return i;
+        }
+        return -1;
+    }
+
+    // Indexes a secondary team under the rule it breaks, or drops it if one replacement cannot fix it
+    private void track(Team t) {
+        untrack(t);
+        Fix fix = findFix(t);
+        if (fix == null) return;
+        fixOf.put(t, fix);
+        fixable.computeIfAbsent(fix.rule, r -> new LinkedHashMap<>())
+                .computeIfAbsent(fix.game, g -> new LinkedHashSet<>()).add(t);
+    }
+
+    private void untrack(Team t) {
+        Fix fix = fixOf.remove(t);
+        if (fix == null) return;
+        Map<Game, Set<Team>> byGame = fixable.get(fix.rule);
+        Set<Team> teams = byGame.get(fix.game);
+        teams.remove(t);
+        if (teams.isEmpty()) byGame.remove(fix.game);
+        if (byGame.isEmpty()) fixable.remove(fix.rule);
+    }
+
+    /**
+     * Works out what one replacement would have to fix in a full team, and which
+     * members it could take out: those that break every rule the team breaks.
+     * Returns null if no single replacement can make the team well-balanced.
+     */
+    private Fix findFix(Team t) {
+        List<Participant> members = t.getMembers();
+        if (members.size() != teamSize) return null;
+        int extraLeaders = t.countPersonality(PersonalityType.LEADER) - constraints.getMaxLeaders();
+        int extraThinkers = t.countPersonality(PersonalityType.THINKER) - constraints.getMaxThinkers();
+        int missingRoles = Math.min(constraints.getMinRoles(), teamSize) - t.distinctRoles();
+        if (extraLeaders > 1 || extraThinkers > 1 || missingRoles > 1) return null;
+
+        Set<Rule> broken = EnumSet.noneOf(Rule.class);
+        if (extraLeaders == 1) broken.add(Rule.LEADERS);
+        if (extraThinkers == 1) broken.add(Rule.THINKERS);
+        if (missingRoles == 1) broken.add(Rule.ROLES);
+        Participant unfit = null;
+        Game crowded = null;
+        for (Participant m : members) {
+            if (!m.isValid() || !m.isEligibleForTeams()) {
+                if (unfit != null) return null;
+                unfit = m;
+                broken.add(Rule.MEMBER);
+            }
+            int extra = t.countGame(m.getGame()) - constraints.getMaxPerGame();
+            if (extra > 1 || (extra == 1 && crowded != null && crowded != m.getGame())) return null;
+            if (extra == 1) {
+                crowded = m.getGame();
+                broken.add(Rule.GAME);
+            }
+        }
+        int[] slots = new int[members.size()];
+        int count = 0;
+        for (int i = 0; i < members.size(); i++) {
+            Participant m = members.get(i);
+            Role role = m.getPreferredRole();
+            if ((unfit == null || m == unfit)
+                    && (extraLeaders < 1 || m.getPersonality() == PersonalityType.LEADER)
+                    && (extraThinkers < 1 || m.getPersonality() == PersonalityType.THINKER)
+                    && (crowded == null || m.getGame() == crowded)
+                    && (missingRoles < 1 || role == null || t.countRole(role) > 1)) {
+                slots[count++] = i;
+            }
+        }
+        if (count == 0) return null;
+        Rule rule = broken.isEmpty() ? Rule.NONE : broken.size() == 1 ? broken.iterator().next() : Rule.SEVERAL;
+        return new Fix(rule, rule == Rule.GAME ? crowded : null, Arrays.copyOf(slots, count));
+    }
+
+    /**
+     * Tries to make a well-balanced team from the unassigned pool, taking leaders
+     * first and thinkers next as greedy formation does. Failing that, a full pool
+     * becomes a secondary team. Returns true if a team was formed.
+     */
+    private boolean formFromPool() {
+        if (unassigned.size() < teamSize) return false;
+
+        // One pass per formation order, so the pool is neither copied nor sorted
+        Team team = new Team(nextTeamId);
+        for (int order = 0; order < 3 && team.size() < teamSize; order++) {
+            for (Participant p : unassigned) {
+                if (team.size() == teamSize) break;
+                if (formationOrder(p) == order && constraints.canJoin(team, p)) team.addMember(p);
+            }
+        }
+
+        boolean balanced = constraints.isWellBalanced(team, teamSize);
+        if (!balanced) {
+            team.getMembers().clear();
+            for (int i = 0; i < teamSize; i++) team.addMember(unassigned.get(i));
+        }
+        nextTeamId++;
+        Set<Participant> taken = Collections.newSetFromMap(new IdentityHashMap<>());
+        taken.addAll(team.getMembers());
+        unassigned.removeIf(taken::contains);
+        taken.forEach(this::removeCandidate);
+        index(team);
+        if (balanced) {
+            wellBalanced.add(team);
+        } else {
+            secondary.add(team);
+            track(team);
+            for (Participant m : team.getMembers()) addCandidate(inSecondary, m);
+        }
+        return true;
+    }
+
+    private static int formationOrder(Participant p) {
+        PersonalityType type = p.getPersonality();
+        return type == PersonalityType.LEADER ? 0 : type == PersonalityType.THINKER ? 1 : 2;
+    }
+
+    /**
+     * Restores a well-balanced team after its member changed, by swapping the member
+     * with an unassigned participant or with a member of a secondary team. Only
+     * candidates whose game, role and personality type fit the rest of the team are
+     * tried: a game under its limit there, a role it lacks when the member's role was
+     * needed, and not a Leader or Thinker when the rest already has as many as allowed.
+     */
+    private boolean repair(Team team, Participant member) {
+        List<Participant> members = team.getMembers();
+        int slot = indexOfIdentity(members, member);
+
+        // The rest of the team, from the aggregates less the member's share
+        int leaders = team.countPersonality(PersonalityType.LEADER)
+                - (member.getPersonality() == PersonalityType.LEADER ? 1 : 0);
+        int thinkers = team.countPersonality(PersonalityType.THINKER)
+                - (member.getPersonality() == PersonalityType.THINKER ? 1 : 0);
+        Role memberRole = member.getPreferredRole();
+        int rolesLeft = team.distinctRoles() - (memberRole != null && team.countRole(memberRole) == 1 ? 1 : 0);
+        int missingRoles = Math.min(constraints.getMinRoles(), teamSize) - rolesLeft;
+        if (missingRoles > 1 || leaders > constraints.getMaxLeaders() || thinkers > constraints.getMaxThinkers()) {
+            return false;
+        }
+        for (Participant m : members) {
+            if (m == member) continue;
+            int sameGame = team.countGame(m.getGame()) - (m.getGame() == member.getGame() ? 1 : 0);
+            if (!m.isValid() || !m.isEligibleForTeams() || sameGame > constraints.getMaxPerGame()) return false;
+        }
+
+        for (Map.Entry<Profile, Set<Participant>> bucket : pooled.entrySet()) {
+            if (!canRepair(team, member, bucket.getKey(), leaders, thinkers, missingRoles)) continue;
+            for (Participant candidate : bucket.getValue()) {
+                repairCandidates++;
+                members.set(slot, candidate);
+                if (constraints.isWellBalanced(team, teamSize)) {
+                    removeCandidate(candidate);
+                    unassigned.set(indexOfIdentity(unassigned, candidate), member);
+                    addCandidate(pooled, member);
+                    teamOf.remove(member.getId());
+                    teamOf.put(candidate.getId(), team);
+                    return true;
+                }
+            }
+        }
+        members.set(slot, member);
+
+        for (Map.Entry<Profile, Set<Participant>> bucket : inSecondary.entrySet()) {
+            if (!canRepair(team, member, bucket.getKey(), leaders, thinkers, missingRoles)) continue;
+            for (Participant candidate : bucket.getValue()) {
+                repairCandidates++;
+                members.set(slot, candidate);
+                if (constraints.isWellBalanced(team, teamSize)) {
+                    removeCandidate(candidate);
+                    Team other = teamOf.get(candidate.getId());
+                    List<Participant> otherMembers = other.getMembers();
+                    otherMembers.set(indexOfIdentity(otherMembers, candidate), member);
+                    teamOf.put(member.getId(), other);
+                    teamOf.put(candidate.getId(), team);
+                    if (constraints.isWellBalanced(other, teamSize)) {
+                        promote(other);
+                    } else {
+                        track(other);
+                        addCandidate(inSecondary, member);
+                    }
+                    return true;
+                }
+            }
+        }
+        members.set(slot, member);
+        return false;
+    }
+
+    // True if a candidate with the profile could take the member's place without breaking a rule
+    private boolean canRepair(Team team, Participant member, Profile profile,
+                              int leaders, int thinkers, int missingRoles) {
+        int sameGame = team.countGame(profile.game) - (profile.game != null && member.getGame() == profile.game ? 1 : 0);
+        int sameRole = team.countRole(profile.role) - (profile.role != null && member.getPreferredRole() == profile.role ? 1 : 0);
+        return sameGame < constraints.getMaxPerGame()
+                && (missingRoles < 1 || (profile.role != null && sameRole == 0))
+                && constraints.isPersonalityCompatible(profile.type, leaders, thinkers);
+    }
+
+    // Adds p to the pool and to the repair candidates
+    private void addUnassigned(Participant p) {
+        unassigned.add(p);
+        addCandidate(pooled, p);
+    }
+
+    // Only eligible participants can be part of a well-balanced team
+    private void addCandidate(Map<Profile, Set<Participant>> candidates, Participant p) {
+        if (!p.isValid() || !p.isEligibleForTeams()) return;
+        Set<Participant> bucket = candidates.computeIfAbsent(new Profile(p), k -> new LinkedHashSet<>());
+        bucket.add(p);
+        candidateSet.put(p, bucket);
+    }
+
+    private void removeCandidate(Participant p) {
+        Set<Participant> bucket = candidateSet.remove(p);
+        if (bucket != null) bucket.remove(p);
+    }
+
+    // Number of swaps repair() has tried so far
+    synchronized long getRepairCandidatesTried() {
+        return repairCandidates;
+    }
+
+    private void promote(Team t) {
+        if (!wellBalanced.add(t)) return;
+        secondary.remove(t);
+        untrack(t);
+        for (Participant m : t.getMembers()) removeCandidate(m);
+    }
+
+    private void demote(Team t) {
+        if (!wellBalanced.remove(t)) return;
+        secondary.add(t);
+        track(t);
+        for (Participant m : t.getMembers()) addCandidate(inSecondary, m);
+    }
+
+    private static void copyDetails(Participant from, Participant to) {
+        to.setName(from.getName());
+        to.setEmail(from.getEmail());
+        to.setInterest(from.getInterest());
+        to.setRole(from.getRole());
+        to.setSkillLevel(from.getSkillLevel());
+        to.setPersonality(from.getPersonality());
+    }
+
+    private static <T> int indexOfIdentity(List<T> list, T item) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == item) return i;
+        }
+        return -1;
+    }
+
+    private static <T> void removeIdentity(List<T> list, T item) {
+        int i = indexOfIdentity(list, item);
+        if (i >= 0) list.remove(i);
+    }
+
+    // Snapshot of the current teams
+    public synchronized TeamFormationResult toResult() {
+        return new TeamFormationResult(new ArrayList<>(wellBalanced), new ArrayList<>(secondary), unassigned);
+    }
+}
@@ -0,0 +1,112 @@
+package teamate;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Teams that still have room, bucketed by average skill, for best-fit lookups.
+ * A participant's fit to a team is (int) |team average - skill|, as in greedy
+ * formation. Averages are bucketed so that each bucket has a single fit for any
+ * skill: one bucket per whole-number average and one per open interval between
+ * them, plus one for empty teams (fit 0). A lookup walks the buckets from the
+ * best fit outwards and returns the same team as scanning every team in order
+ * and keeping the first one with the smallest fit. Teams are either Team objects
+ * or positions whose size and skill sum are read through functions, for
+ * formation that keeps its own per-team counters.
+ */
+final class TeamSkillIndex {
+    private static final int EMPTY = 0;
+    private static final int NONE = -1;
+
+    private final List<Team> teams; // null when indexing positions
+    private final int teamSize;
+    private final IntUnaryOperator sizeOf;
+    private final IntToLongFunction skillSumOf;
+    private final int[] bucketOf; // team position -> bucket, or NONE once full
+    private BitSet[] buckets = new BitSet[0];
+
+    TeamSkillIndex(List<Team> teams, int teamSize) {
+        this(teams, teams.size(), teamSize, i -> teams.get(i).size(), i -> teams.get(i).getSkillSum());
+    }
+
+    // Indexes team positions 0..teamCount-1; refresh a position after its size or skill sum changes
+    TeamSkillIndex(int teamCount, int teamSize, IntUnaryOperator sizeOf, IntToLongFunction skillSumOf) {
+        this(null, teamCount, teamSize, sizeOf, skillSumOf);
+    }
+
+    private TeamSkillIndex(List<Team> teams, int teamCount, int teamSize,
+                           IntUnaryOperator sizeOf, IntToLongFunction skillSumOf) {
+        this.teams = teams;
+        this.teamSize = teamSize;
+        this.sizeOf = sizeOf;
+        this.skillSumOf = skillSumOf;
+        this.bucketOf = new int[teamCount];
+        Arrays.fill(bucketOf, NONE);
+        for (int i = 0; i < teamCount; i++) refresh(i);
+    }
+
+    /**
+     * Position of the team with the best fit for the skill that passes the filter,
+     * or -1 if no team with room passes it. Ties go to the earliest team.
+     */
+    int findBestFit(int skill, Predicate<Team> filter) {
+        return findBestPosition(skill, i -> filter.test(teams.get(i)));
+    }
+
+    // As findBestFit, with the filter given the team's position
+    int findBestPosition(int skill, IntPredicate filter) {
+        int maxBand = (buckets.length - 2) / 2;
+        for (int fit = 0; skill + fit <= maxBand || skill - fit - 1 >= 0; fit++) {
+            int best = Integer.MAX_VALUE;
+            if (fit == 0) best = first(EMPTY, best, filter);
+            // whole-number averages skill +/- fit
+            best = first(bucket(skill + fit, true), best, filter);
+            if (fit > 0) best = first(bucket(skill - fit, true), best, filter);
+            // averages strictly between bands: above the skill, or below it
+            best = first(bucket(skill + fit, false), best, filter);
+            best = first(bucket(skill - fit - 1, false), best, filter);
+            if (best != Integer.MAX_VALUE) return best;
+        }
+        return -1;
+    }
+
+    /**
+     * Re-buckets the team at the position after its members changed.
+     */
+    void refresh(int position) {
+        if (bucketOf[position] != NONE) buckets[bucketOf[position]].clear(position);
+        int size = sizeOf.applyAsInt(position);
+        long skillSum = skillSumOf.applyAsLong(position);
+        int bucket = size >= teamSize ? NONE
+                : size == 0 ? EMPTY
+                : bucket((int) (skillSum / size), skillSum % size == 0);
+        bucketOf[position] = bucket;
+        if (bucket == NONE) return;
+        if (bucket >= buckets.length) {
+            int oldLength = buckets.length;
+            buckets = Arrays.copyOf(buckets, bucket + 2);
+            for (int i = oldLength; i < buckets.length; i++) buckets[i] = new BitSet();
+        }
+        buckets[bucket].set(position);
+    }
+
+    // Bucket for averages equal to band (whole) or strictly between band and band + 1
+    private static int bucket(int band, boolean whole) {
+        return band < 0 ? NONE : 1 + 2 * band + (whole ? 0 : 1);
+    }
+
+    // Earliest team in the bucket before 'before' that passes the filter
+    private int first(int bucket, int before, IntPredicate filter) {
+        if (bucket == NONE || bucket >= buckets.length) return before;
+        BitSet bits = buckets[bucket];
+        for (int i = bits.nextSetBit(0); i >= 0 && i < before; i = bits.nextSetBit(i + 1)) {
+            if (filter.test(i)) return i;
+        }
+        return before;
+    }
+}